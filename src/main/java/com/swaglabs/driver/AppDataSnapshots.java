@@ -0,0 +1,220 @@
+package com.swaglabs.driver;
+
+import com.swaglabs.config.ConfigReader;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.SessionId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * AppDataSnapshots captures the app's private data once a state has been built through the UI,
+ * and restores it later in a single round of pushes plus an app restart.
+ *
+ * Swag Labs is a React Native app that keeps its state in AsyncStorage, an SQLite database under
+ * the app's data directory. The folder at app.snapshot.path is pulled with Appium's pullFolder
+ * ("@package/..." paths go through run-as, so the app must be debuggable) while the app is stopped,
+ * so the database is not caught mid-write. It is restored, again with the app stopped, into an
+ * emptied folder file by file with pushFile, so no journal, WAL or SHM file left from the current
+ * state is replayed over the snapshot.
+ *
+ * Snapshots are cached in memory and on the host under app.snapshot.dir, keyed by state name and
+ * app version, so a new build never restores data written by an older one. Opt-in with
+ * app.snapshot.enabled.
+ */
+public final class AppDataSnapshots {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppDataSnapshots.class);
+    private static final boolean ENABLED = ConfigReader.getBoolean("app.snapshot.enabled", false);
+    private static final Path SNAPSHOT_DIR = Paths.get(ConfigReader.get("app.snapshot.dir", "target/app-snapshots"));
+    private static final String APP_PACKAGE = ConfigReader.get("app.package", "com.swaglabsmobileapp");
+    private static final String DATA_PATH = ConfigReader.get("app.snapshot.path", "databases");
+    private static final Pattern VERSION_NAME = Pattern.compile("versionName=(\\S+)");
+
+    private static final Map<String, byte[]> MEMORY = new ConcurrentHashMap<>();
+    private static final Map<SessionId, String> VERSIONS = new ConcurrentHashMap<>();
+
+    private AppDataSnapshots() {
+        // Prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Stops the app, pulls its data folder, stores it under the state name and starts the app
+     * again. Returns false if the device refused the pull, e.g. for a non-debuggable build.
+     */
+    public static boolean capture(AndroidDriver driver, String state) {
+        String key = key(driver, state);
+        long start = System.nanoTime();
+        try {
+            byte[] zip;
+            try {
+                driver.terminateApp(APP_PACKAGE);
+                zip = driver.pullFolder(remoteDataPath());
+            } finally {
+                driver.activateApp(APP_PACKAGE);
+            }
+            MEMORY.put(key, zip);
+            Path file = SNAPSHOT_DIR.resolve(key + ".zip");
+            Files.createDirectories(file.getParent());
+            Files.write(file, zip);
+            LOG.info("Captured app data snapshot {} — {} KB in {} ms", key, zip.length / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (WebDriverException | IOException e) {
+            LOG.warn("Could not capture app data snapshot {} — {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops the app, empties its data folder, pushes every file of the state's snapshot back, and
+     * starts the app again. Returns false, without touching the app, if no snapshot exists for
+     * this app version.
+     */
+    public static boolean restore(AndroidDriver driver, String state) {
+        String key = key(driver, state);
+        byte[] zip = load(key);
+        if (zip == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        Map<String, byte[]> files = unzip(zip);
+        try {
+            driver.terminateApp(APP_PACKAGE);
+            emptyDataFolder(driver, files.keySet());
+            files.forEach((name, data) ->
+                    driver.pushFile(remoteDataPath() + "/" + name, Base64.getEncoder().encode(data)));
+        } finally {
+            driver.activateApp(APP_PACKAGE);
+        }
+        LOG.info("Restored app data snapshot {} — {} file(s) in {} ms", key, files.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Drops a snapshot that restored into the wrong state, from memory and disk.
+     */
+    public static void discard(AndroidDriver driver, String state) {
+        String key = key(driver, state);
+        MEMORY.remove(key);
+        try {
+            Files.deleteIfExists(SNAPSHOT_DIR.resolve(key + ".zip"));
+        } catch (IOException e) {
+            LOG.warn("Could not delete app data snapshot {} — {}", key, e.getMessage());
+        }
+        LOG.info("Discarded app data snapshot {}", key);
+    }
+
+    /**
+     * Forgets in-memory snapshots and cached app versions; snapshots on disk are kept.
+     */
+    public static void clearMemory() {
+        MEMORY.clear();
+        VERSIONS.clear();
+    }
+
+    /**
+     * The installed app's versionName, looked up once per session. Falls back to the file name of
+     * app.path / app.url when the device does not allow shell commands.
+     */
+    public static String appVersion(AndroidDriver driver) {
+        return VERSIONS.computeIfAbsent(driver.getSessionId(), id -> {
+            try {
+                Object output = driver.executeScript("mobile: shell",
+                        Map.of("command", "dumpsys", "args", List.of("package", APP_PACKAGE)));
+                Matcher matcher = VERSION_NAME.matcher(String.valueOf(output));
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            } catch (WebDriverException e) {
+                LOG.debug("App version unavailable from the device — {}", e.getMessage());
+            }
+            String app = ConfigReader.get("app.path", ConfigReader.get("app.url", "unknown"));
+            return Paths.get(app).getFileName().toString();
+        });
+    }
+
+    private static String key(AndroidDriver driver, String state) {
+        return appVersion(driver).replaceAll("[^A-Za-z0-9._-]", "_") + "/" + state;
+    }
+
+    /**
+     * Deletes the data folder through run-as, so the snapshot is pushed into an empty one. Where
+     * the device allows no shell commands, every current file the snapshot does not overwrite is
+     * truncated instead; SQLite ignores an empty journal or WAL.
+     */
+    private static void emptyDataFolder(AndroidDriver driver, Set<String> snapshotFiles) {
+        try {
+            driver.executeScript("mobile: shell",
+                    Map.of("command", "run-as", "args", List.of(APP_PACKAGE, "rm", "-rf", DATA_PATH)));
+            return;
+        } catch (WebDriverException e) {
+            LOG.debug("Could not delete {} — truncating stale files instead: {}", remoteDataPath(), e.getMessage());
+        }
+        for (String name : unzip(driver.pullFolder(remoteDataPath())).keySet()) {
+            if (!snapshotFiles.contains(name)) {
+                driver.pushFile(remoteDataPath() + "/" + name, Base64.getEncoder().encode(new byte[0]));
+            }
+        }
+    }
+
+    private static String remoteDataPath() {
+        return "@" + APP_PACKAGE + "/" + DATA_PATH;
+    }
+
+    private static byte[] load(String key) {
+        return MEMORY.computeIfAbsent(key, k -> {
+            Path file = SNAPSHOT_DIR.resolve(k + ".zip");
+            try {
+                return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Reads the pulled folder's files, relative to the folder itself.
+     */
+    private static Map<String, byte[]> unzip(byte[] zip) {
+        String folder = Paths.get(DATA_PATH).getFileName() + "/";
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String name = entry.getName().startsWith(folder)
+                        ? entry.getName().substring(folder.length()) : entry.getName();
+                files.put(name, in.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt app data snapshot", e);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,179 @@
+package com.swaglabs.driver;
+
+import com.swaglabs.utils.LatencyHistogram;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CommandMetrics keeps per-command latency histograms for every driver command,
+ * both for the test currently running on a thread and for the thread's whole run.
+ *
+ * Recording happens on the calling thread into histograms owned by that thread,
+ * so the hot path takes no locks and allocates nothing once a command type has been seen.
+ * Each thread also keeps its last few commands, with the error any of them failed with, so a
+ * test failure can be judged against what the driver saw just before it. They are written into
+ * a preallocated ring of mutable slots and only copied into records when asked for.
+ */
+public final class CommandMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandMetrics.class);
+    private static final int HISTORY_SIZE = 32;
+
+    private static final Map<Thread, ThreadMetrics> ALL_THREADS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ThreadMetrics> THREAD_METRICS = ThreadLocal.withInitial(() -> {
+        ThreadMetrics metrics = new ThreadMetrics();
+        ALL_THREADS.put(Thread.currentThread(), metrics);
+        return metrics;
+    });
+
+    private CommandMetrics() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Records one command round-trip for the current thread.
+     */
+    public static void record(String command, long nanos) {
+        record(command, nanos, null);
+    }
+
+    /**
+     * Records one command round-trip for the current thread, and the error it failed with, if any.
+     */
+    public static void record(String command, long nanos, Throwable error) {
+        ThreadMetrics metrics = THREAD_METRICS.get();
+        metrics.suite.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+        metrics.test.computeIfAbsent(command, k -> new LatencyHistogram()).recordNanos(nanos);
+        Slot slot = metrics.history[metrics.next];
+        slot.name = command;
+        slot.millis = nanos / 1_000_000;
+        slot.error = error;
+        metrics.next = (metrics.next + 1) % HISTORY_SIZE;
+        metrics.count = Math.min(metrics.count + 1, HISTORY_SIZE);
+    }
+
+    /**
+     * The current thread's most recent commands in the running test, oldest first.
+     */
+    public static List<Command> recentCommands() {
+        ThreadMetrics metrics = THREAD_METRICS.get();
+        List<Command> commands = new ArrayList<>(metrics.count);
+        for (int i = metrics.count; i > 0; i--) {
+            Slot slot = metrics.history[(metrics.next - i + HISTORY_SIZE) % HISTORY_SIZE];
+            commands.add(new Command(slot.name, slot.millis, slot.error));
+        }
+        return commands;
+    }
+
+    /**
+     * Starts a fresh per-test histogram set and command history on the current thread.
+     */
+    public static void startTest() {
+        ThreadMetrics metrics = THREAD_METRICS.get();
+        metrics.test.values().forEach(LatencyHistogram::reset);
+        for (Slot slot : metrics.history) {
+            slot.error = null;
+        }
+        metrics.count = 0;
+    }
+
+    /**
+     * Returns the current thread's per-test summary as JSON (p50/p95/p99 per command type).
+     */
+    public static String testSummaryJson() {
+        return new Json().toJson(summarize(THREAD_METRICS.get().test));
+    }
+
+    /**
+     * Merges every thread's histograms into suite-wide totals per command type.
+     */
+    public static Map<String, LatencyHistogram> suiteTotals() {
+        Map<String, LatencyHistogram> totals = new TreeMap<>();
+        for (ThreadMetrics metrics : ALL_THREADS.values()) {
+            metrics.suite.forEach((command, histogram) ->
+                    totals.computeIfAbsent(command, k -> new LatencyHistogram()).merge(histogram));
+        }
+        return totals;
+    }
+
+    /**
+     * Writes the suite-wide summary, plus a per-thread breakdown, as JSON.
+     */
+    public static void writeSuiteReport(Path file) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", summarize(suiteTotals()));
+
+        List<Map<String, Object>> threads = new ArrayList<>();
+        ALL_THREADS.forEach((thread, metrics) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("thread", thread.getName());
+            entry.put("commands", summarize(metrics.suite));
+            threads.add(entry);
+        });
+        report.put("threads", threads);
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            LOG.info("Command latency report written: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.error("Failed to write command latency report: {}", file, e);
+        }
+    }
+
+    private static Map<String, Object> summarize(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summary = new TreeMap<>();
+        histograms.forEach((command, histogram) -> {
+            if (histogram.count() > 0) {
+                summary.put(command, histogram.summary());
+            }
+        });
+        return summary;
+    }
+
+    /**
+     * Histograms owned by one thread: the running test's, and the thread's totals.
+     */
+    private static final class ThreadMetrics {
+        private final Map<String, LatencyHistogram> suite = new HashMap<>();
+        private final Map<String, LatencyHistogram> test = new HashMap<>();
+        private final Slot[] history = new Slot[HISTORY_SIZE];
+        private int next;
+        private int count;
+
+        private ThreadMetrics() {
+            for (int i = 0; i < HISTORY_SIZE; i++) {
+                history[i] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * One reusable entry of a thread's command ring.
+     */
+    private static final class Slot {
+        private String name;
+        private long millis;
+        private Throwable error;
+    }
+
+    /**
+     * One recent command: its name, duration, and the error it failed with (null on success).
+     */
+    public record Command(String name, long millis, Throwable error) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.swaglabs.driver;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeviceRegistry holds the devices available to a test run and leases them to worker threads,
+ * so N emulators can run N test classes at the same time.
+ *
+ * Devices are configured with the 'devices' property — a comma-separated list of
+ * {@code udid|appiumUrl|systemPort|chromedriverPort} entries, for example:
+ * <pre>
+ * devices=emulator-5554|http://127.0.0.1:4723|8200|9515,emulator-5556|http://127.0.0.1:4725|8201|9516
+ * </pre>
+ * Ports are optional. Without the property the registry holds one device built from
+ * 'device.name' and 'appium.server.url'.
+ */
+public class DeviceRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    private static volatile DeviceRegistry shared;
+
+    private final List<Device> devices;
+    private final BlockingQueue<Device> available;
+
+    public DeviceRegistry(List<Device> devices) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("Device registry needs at least one device");
+        }
+        this.devices = List.copyOf(devices);
+        this.available = new LinkedBlockingQueue<>(this.devices);
+    }
+
+    /**
+     * Returns the registry built from configuration, shared by all threads of the run.
+     */
+    public static DeviceRegistry shared() {
+        if (shared == null) {
+            synchronized (DeviceRegistry.class) {
+                if (shared == null) {
+                    shared = fromConfig();
+                    LOG.info("Device registry: {} device(s) — {}", shared.size(), shared.devices);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Builds a registry from the 'devices' property, falling back to the single configured device.
+     */
+    public static DeviceRegistry fromConfig() {
+        String spec = ConfigReader.get("devices");
+        if (spec == null || spec.isBlank()) {
+            return new DeviceRegistry(Collections.singletonList(new Device(
+                    null,
+                    ConfigReader.get("appium.server.url", "http://127.0.0.1:4723"),
+                    null,
+                    null)));
+        }
+        return parse(spec);
+    }
+
+    /**
+     * Parses a comma-separated list of {@code udid|appiumUrl|systemPort|chromedriverPort} entries.
+     */
+    public static DeviceRegistry parse(String spec) {
+        List<Device> devices = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] fields = entry.trim().split("\\|");
+            if (fields.length < 2) {
+                throw new IllegalArgumentException("Invalid device entry (expected udid|appiumUrl[|systemPort|chromedriverPort]): " + entry);
+            }
+            devices.add(new Device(
+                    fields[0].trim(),
+                    fields[1].trim(),
+                    fields.length > 2 ? parsePort(fields[2], entry) : null,
+                    fields.length > 3 ? parsePort(fields[3], entry) : null));
+        }
+        return new DeviceRegistry(devices);
+    }
+
+    private static Integer parsePort(String value, String entry) {
+        if (value.isBlank()) return null;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port '" + value + "' in device entry: " + entry, e);
+        }
+    }
+
+    /**
+     * Returns the number of registered devices — the useful degree of parallelism.
+     */
+    public int size() {
+        return devices.size();
+    }
+
+    /**
+     * Returns all registered devices.
+     */
+    public List<Device> devices() {
+        return devices;
+    }
+
+    /**
+     * Leases a free device, waiting up to the given timeout for one to be released.
+     */
+    public Device lease(Duration timeout) {
+        try {
+            Device device = available.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (device == null) {
+                throw new IllegalStateException("No device became free within " + timeout.toSeconds() + "s");
+            }
+            LOG.info("Leased device {} to thread {}", device, Thread.currentThread().getName());
+            return device;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a device", e);
+        }
+    }
+
+    /**
+     * Leases a free device without waiting; returns null when all devices are busy.
+     */
+    public Device tryLease() {
+        return available.poll();
+    }
+
+    /**
+     * Returns a leased device to the registry.
+     */
+    public void release(Device device) {
+        if (device != null && !available.contains(device)) {
+            available.offer(device);
+            LOG.info("Released device {}", device);
+        }
+    }
+
+    /**
+     * Returns the number of devices currently free.
+     */
+    public int availableCount() {
+        return available.size();
+    }
+
+    /**
+     * A single device slot: the udid to target, the Appium server serving it, and the
+     * per-device ports UiAutomator2 needs so parallel sessions do not collide.
+     */
+    public record Device(String udid, String appiumUrl, Integer systemPort, Integer chromedriverPort) {
+
+        @Override
+        public String toString() {
+            return (udid != null ? udid : "default") + "@" + appiumUrl;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import com.swaglabs.config.ConfigReader;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
 
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.remote.http.HttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +17,8 @@ import java.net.URL;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * DriverManager handles Appium AndroidDriver lifecycle using ThreadLocal
@@ -24,11 +28,51 @@ import java.util.Map;
  * - local: Appium server running locally
  * - lambdatest: LambdaTest cloud platform
  * - browserstack: BrowserStack cloud platform
+ *
+ * Each thread leases a device from the {@link DeviceRegistry} for as long as it holds
+ * a driver, so test classes can run in parallel on as many devices as are configured.
+ *
+ * When 'session.pool.enabled' is true, sessions are leased from a suite-wide
+ * {@link SessionPool} (one per device) instead of being created and quit for every test class.
+ * When 'session.prewarm.enabled' is true, a {@link SessionPrewarmer} starts the next session
+ * on a spare device in the background so the next initDriver() can claim it ready-made.
+ *
+ * When 'command.metrics.enabled' is true, every driver is a {@link TimedAndroidDriver} that times
+ * each command it sends (see {@link CommandMetrics}).
+ *
+ * 'wait.mode' controls the implicit wait: "explicit" (default) keeps it at zero for the whole session
+ * so explicit waits never compound with it — page objects then look elements up only through
+ * WaitHelper, never with a bare findElement; "implicit" applies 'implicit.wait.seconds' but
+ * {@link #withoutImplicitWait} still drops it to zero for the duration of each explicit wait.
+ *
+ * Drivers use Selenium's default HTTP client. Only when 'http.client.tuned' is set to true (it is
+ * off by default) do they share a {@link TunedHttpClientFactory} transport instead (pooled
+ * keep-alive connections, configured timeouts, optional HTTP/2 and gzip).
  */
 public final class DriverManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(DriverManager.class);
     private static final ThreadLocal<AndroidDriver> DRIVER_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<DeviceRegistry.Device> DEVICE_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<Duration> IMPLICIT_WAIT_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FRESH_SESSION_REQUESTED = new ThreadLocal<>();
+    private static final boolean POOL_ENABLED = ConfigReader.getBoolean("session.pool.enabled", false);
+    private static final boolean PREWARM_ENABLED = ConfigReader.getBoolean("session.prewarm.enabled", false);
+    private static final boolean COMMAND_METRICS_ENABLED = ConfigReader.getBoolean("command.metrics.enabled", true);
+    private static final HttpClient.Factory HTTP_CLIENT_FACTORY =
+            ConfigReader.getBoolean("http.client.tuned", false)
+                    ? TunedHttpClientFactory.fromConfig()
+                    : HttpClient.Factory.createDefault();
+    private static final boolean EXPLICIT_WAIT_MODE =
+            "explicit".equalsIgnoreCase(ConfigReader.get("wait.mode", "explicit"));
+    private static final Duration IMPLICIT_WAIT =
+            Duration.ofSeconds(ConfigReader.getInt("implicit.wait.seconds", 10));
+    private static final Duration DEVICE_LEASE_TIMEOUT =
+            Duration.ofSeconds(ConfigReader.getInt("device.lease.timeout.seconds", 600));
+
+    private static final Map<DeviceRegistry.Device, SessionPool> SESSION_POOLS = new ConcurrentHashMap<>();
+
+    private static volatile SessionPrewarmer prewarmer;
 
     private DriverManager() {
         // Prevent instantiation
@@ -45,29 +89,126 @@ public final class DriverManager {
         return driver;
     }
 
+    /**
+     * Returns the device leased by the current thread, or null when no driver is active.
+     */
+    public static DeviceRegistry.Device getDevice() {
+        return DEVICE_THREAD_LOCAL.get();
+    }
+
+    /**
+     * Returns the implicit wait currently applied to this thread's driver.
+     */
+    public static Duration getImplicitWait() {
+        Duration implicitWait = IMPLICIT_WAIT_THREAD_LOCAL.get();
+        return implicitWait == null ? Duration.ZERO : implicitWait;
+    }
+
+    /**
+     * Runs the action with the implicit wait at zero, restoring it afterwards.
+     * Costs nothing when the implicit wait is already zero (wait.mode=explicit).
+     */
+    public static <T> T withoutImplicitWait(Supplier<T> action) {
+        Duration implicitWait = getImplicitWait();
+        if (implicitWait.isZero()) {
+            return action.get();
+        }
+        setImplicitWait(Duration.ZERO);
+        try {
+            return action.get();
+        } finally {
+            setImplicitWait(implicitWait);
+        }
+    }
+
+    private static void setImplicitWait(Duration implicitWait) {
+        getDriver().manage().timeouts().implicitlyWait(implicitWait);
+        IMPLICIT_WAIT_THREAD_LOCAL.set(implicitWait);
+    }
+
     /**
      * Initializes the AndroidDriver based on the configured execution platform.
+     * Claims a pre-warmed session if one is ready; otherwise leases a device and then
+     * a warm session for it when pooling is enabled.
      */
     public static void initDriver() {
         String platform = ConfigReader.get("execution.platform", "local");
-        LOG.info("Initializing driver for platform: {}", platform);
 
-        AndroidDriver driver = switch (platform.toLowerCase()) {
+        SessionPrewarmer.WarmSession warm = PREWARM_ENABLED ? prewarmer().claim() : null;
+        DeviceRegistry.Device device;
+        AndroidDriver driver;
+        if (warm != null) {
+            device = warm.device();
+            driver = warm.driver();
+            LOG.info("Initializing driver for platform: {} on device: {} (pre-warmed)", platform, device);
+        } else {
+            device = DeviceRegistry.shared().lease(DEVICE_LEASE_TIMEOUT);
+            LOG.info("Initializing driver for platform: {} on device: {}", platform, device);
+            try {
+                driver = POOL_ENABLED ? sessionPool(device).lease().driver() : createDriver(device);
+            } catch (RuntimeException e) {
+                DeviceRegistry.shared().release(device);
+                throw e;
+            }
+        }
+
+        Duration implicitWait = EXPLICIT_WAIT_MODE ? Duration.ZERO : IMPLICIT_WAIT;
+        driver.manage().timeouts().implicitlyWait(implicitWait);
+        IMPLICIT_WAIT_THREAD_LOCAL.set(implicitWait);
+        DEVICE_THREAD_LOCAL.set(device);
+        DRIVER_THREAD_LOCAL.set(driver);
+        LOG.info("Driver initialized successfully for platform: {}", platform);
+
+        if (PREWARM_ENABLED) {
+            prewarmer().prewarmNext();
+        }
+    }
+
+    /**
+     * Creates a brand-new session on the given device for the configured execution platform.
+     */
+    private static AndroidDriver createDriver(DeviceRegistry.Device device) {
+        String platform = ConfigReader.get("execution.platform", "local");
+        return switch (platform.toLowerCase()) {
             case "lambdatest" -> createLambdaTestDriver();
             case "browserstack" -> createBrowserStackDriver();
-            default -> createLocalDriver();
+            default -> createLocalDriver(device);
         };
+    }
 
-        driver.manage().timeouts().implicitlyWait(
-                Duration.ofSeconds(ConfigReader.getInt("implicit.wait.seconds", 10)));
-        DRIVER_THREAD_LOCAL.set(driver);
-        LOG.info("Driver initialized successfully for platform: {}", platform);
+    /**
+     * Returns the session pool for the given device, creating it on first use.
+     */
+    private static SessionPool sessionPool(DeviceRegistry.Device device) {
+        if (device == null) {
+            throw new IllegalStateException("No device leased by thread " + Thread.currentThread().getName());
+        }
+        return SESSION_POOLS.computeIfAbsent(device, d -> new SessionPool(
+                () -> createDriver(d),
+                ConfigReader.get("app.package", "com.swaglabsmobileapp"),
+                ConfigReader.getInt("session.pool.max.idle", 1)));
     }
 
     /**
-     * Creates a local Appium AndroidDriver.
+     * Returns the background session pre-warmer, creating it on first use.
      */
-    private static AndroidDriver createLocalDriver() {
+    private static SessionPrewarmer prewarmer() {
+        if (prewarmer == null) {
+            synchronized (DriverManager.class) {
+                if (prewarmer == null) {
+                    prewarmer = new SessionPrewarmer(DeviceRegistry.shared(), DriverManager::createDriver,
+                            device -> POOL_ENABLED && sessionPool(device).stats().idle() > 0);
+                }
+            }
+        }
+        return prewarmer;
+    }
+
+    /**
+     * Creates a local Appium AndroidDriver targeting the given device.
+     * The udid and per-device systemPort/chromedriverPort keep parallel sessions apart.
+     */
+    private static AndroidDriver createLocalDriver(DeviceRegistry.Device device) {
         UiAutomator2Options options = new UiAutomator2Options();
 
         String appPath = ConfigReader.get("app.path");
@@ -94,9 +235,19 @@ public final class DriverManager {
         options.setFullReset(ConfigReader.getBoolean("full.reset", false));
         options.setNewCommandTimeout(Duration.ofSeconds(ConfigReader.getInt("new.command.timeout", 300)));
 
-        String appiumUrl = ConfigReader.get("appium.server.url", "http://127.0.0.1:4723");
+        if (device.udid() != null) {
+            options.setUdid(device.udid());
+        }
+        if (device.systemPort() != null) {
+            options.setSystemPort(device.systemPort());
+        }
+        if (device.chromedriverPort() != null) {
+            options.setChromedriverPort(device.chromedriverPort());
+        }
+
+        String appiumUrl = device.appiumUrl();
         try {
-            return new AndroidDriver(new URL(appiumUrl), options);
+            return newAndroidDriver(new URL(appiumUrl), options);
         } catch (MalformedURLException e) {
             throw new RuntimeException("Invalid Appium server URL: " + appiumUrl, e);
         }
@@ -133,7 +284,7 @@ public final class DriverManager {
         String hubUrl = String.format("https://%s:%s@mobile-hub.lambdatest.com/wd/hub", username, accessKey);
 
         try {
-            return new AndroidDriver(new URL(hubUrl), options);
+            return newAndroidDriver(new URL(hubUrl), options);
         } catch (MalformedURLException e) {
             throw new RuntimeException("Invalid LambdaTest hub URL", e);
         }
@@ -165,26 +316,113 @@ public final class DriverManager {
 
         String hubUrl = "https://hub-cloud.browserstack.com/wd/hub";
         try {
-            return new AndroidDriver(new URL(hubUrl), capabilities);
+            return newAndroidDriver(new URL(hubUrl), capabilities);
         } catch (MalformedURLException e) {
             throw new RuntimeException("Invalid BrowserStack hub URL", e);
         }
     }
 
+    /**
+     * Creates the AndroidDriver on the shared HTTP transport — a command-timing subclass when
+     * command metrics are enabled, so callers keep the full Appium API either way.
+     */
+    private static AndroidDriver newAndroidDriver(URL serverUrl, Capabilities capabilities) {
+        return COMMAND_METRICS_ENABLED
+                ? new TimedAndroidDriver(serverUrl, HTTP_CLIENT_FACTORY, capabilities)
+                : new AndroidDriver(serverUrl, HTTP_CLIENT_FACTORY, capabilities);
+    }
+
     /**
      * Quits the AndroidDriver and removes it from ThreadLocal.
+     * With pooling enabled the session is returned to the pool instead of being quit.
+     * The device lease is released either way.
      */
     public static void quitDriver() {
         AndroidDriver driver = DRIVER_THREAD_LOCAL.get();
+        DeviceRegistry.Device device = DEVICE_THREAD_LOCAL.get();
         if (driver != null) {
             try {
-                driver.quit();
-                LOG.info("Driver quit successfully");
+                if (POOL_ENABLED) {
+                    sessionPool(device).release(driver);
+                } else {
+                    ScreenGeometry.invalidate(driver);
+                    driver.quit();
+                    LOG.info("Driver quit successfully");
+                }
             } catch (Exception e) {
                 LOG.warn("Error quitting driver: {}", e.getMessage());
             } finally {
                 DRIVER_THREAD_LOCAL.remove();
+                IMPLICIT_WAIT_THREAD_LOCAL.remove();
+                FRESH_SESSION_REQUESTED.remove();
+                releaseDevice();
+            }
+        }
+    }
+
+    /**
+     * Quits the current thread's session without returning it to the pool.
+     * Use when the session is known to be broken.
+     */
+    public static void discardDriver() {
+        AndroidDriver driver = DRIVER_THREAD_LOCAL.get();
+        DeviceRegistry.Device device = DEVICE_THREAD_LOCAL.get();
+        if (driver != null) {
+            ScreenGeometry.invalidate(driver);
+            try {
+                if (POOL_ENABLED) {
+                    sessionPool(device).discard(driver);
+                } else {
+                    driver.quit();
+                }
+            } catch (Exception e) {
+                LOG.warn("Error discarding driver: {}", e.getMessage());
+            } finally {
+                DRIVER_THREAD_LOCAL.remove();
+                IMPLICIT_WAIT_THREAD_LOCAL.remove();
+                releaseDevice();
             }
         }
     }
+
+    /**
+     * Asks for the current thread's session to be replaced before its next test, e.g. after a
+     * failure blamed on the session. Takes effect in {@link #renewSessionIfRequested()}.
+     */
+    public static void requestFreshSession() {
+        FRESH_SESSION_REQUESTED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Discards the current thread's session and starts a new one, if one was requested.
+     *
+     * @return true if the session was replaced
+     */
+    public static boolean renewSessionIfRequested() {
+        if (FRESH_SESSION_REQUESTED.get() == null) {
+            return false;
+        }
+        FRESH_SESSION_REQUESTED.remove();
+        LOG.info("Replacing the session before the retry");
+        discardDriver();
+        initDriver();
+        return true;
+    }
+
+    /**
+     * Tears down the pre-warmer and all pooled sessions. Called once at suite end.
+     */
+    public static void shutdown() {
+        SessionPrewarmer activePrewarmer = prewarmer;
+        if (activePrewarmer != null) {
+            activePrewarmer.shutdown();
+        }
+        SESSION_POOLS.values().forEach(SessionPool::shutdown);
+    }
+
+    private static void releaseDevice() {
+        DeviceRegistry.Device device = DEVICE_THREAD_LOCAL.get();
+        DEVICE_THREAD_LOCAL.remove();
+        DeviceRegistry.shared().release(device);
+    }
 }
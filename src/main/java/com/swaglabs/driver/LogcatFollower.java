@@ -0,0 +1,261 @@
+package com.swaglabs.driver;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LogcatFollower streams the device's logcat for the test running on the current thread.
+ *
+ * Appium's "logcat" log type returns only the lines logged since the previous read, so a daemon
+ * thread per test thread reads it every logcat.poll.interval.ms in small batches — the test thread
+ * never waits on a full dump. Each line is filtered as it arrives: at least logcat.min.level, and
+ * either logged by the app's process or mentioning its package (process start, crash headers).
+ * The app's pid is taken from ActivityManager's "Start proc" line, so a restart is followed.
+ * Kept lines go into a ring of the last logcat.buffer.lines, which {@link #stop()} hands back for
+ * a failed test and {@link #discard()} drops for a passed one. A session whose server does not
+ * offer the logcat log type, as on some cloud providers, is not polled again after the first
+ * refusal.
+ */
+public final class LogcatFollower {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogcatFollower.class);
+    private static final boolean ENABLED = ConfigReader.getBoolean("logcat.enabled", true);
+    private static final String LOG_TYPE = "logcat";
+    private static final String LEVELS = "VDIWEF";
+    // threadtime format: "10-17 04:00:00.123  1234  1256 I ReactNativeJS: message"
+    private static final Pattern THREADTIME = Pattern.compile(
+            "^\\d\\d-\\d\\d\\s+[\\d:.]+\\s+(\\d+)\\s+\\d+\\s+([VDIWEF])\\s");
+
+    private static final ThreadLocal<LogcatFollower> CURRENT = ThreadLocal.withInitial(LogcatFollower::fromConfig);
+
+    private final String appPackage;
+    private final int minLevel;
+    private final Duration interval;
+    private final String[] ring;
+    private final Pattern startProc;
+    private final ScheduledExecutorService executor;
+
+    private WebDriver driver;
+    private ScheduledFuture<?> following;
+    private volatile String appPid;
+    private volatile WebDriver unsupportedOn;
+    private int next;
+    private int size;
+    private long dropped;
+
+    /**
+     * @param minLevel logcat level letter (V, D, I, W, E, F); lines below it are dropped
+     * @param lines    how many filtered lines the ring keeps
+     */
+    public LogcatFollower(String appPackage, String minLevel, Duration interval, int lines) {
+        this.appPackage = appPackage;
+        this.minLevel = Math.max(0, LEVELS.indexOf(minLevel.trim().toUpperCase()));
+        this.interval = interval;
+        this.ring = new String[Math.max(1, lines)];
+        this.startProc = Pattern.compile("Start proc (\\d+):" + Pattern.quote(appPackage) + "\\b");
+        String owner = Thread.currentThread().getName();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "logcat-" + owner);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the calling thread's follower, creating it from config on first use.
+     */
+    public static LogcatFollower current() {
+        return CURRENT.get();
+    }
+
+    private static LogcatFollower fromConfig() {
+        return new LogcatFollower(
+                ConfigReader.get("app.package", "com.swaglabsmobileapp"),
+                ConfigReader.get("logcat.min.level", "I"),
+                Duration.ofMillis(ConfigReader.getInt("logcat.poll.interval.ms", 1000)),
+                ConfigReader.getInt("logcat.buffer.lines", 2000));
+    }
+
+    /**
+     * Starts following the driver's logcat; lines logged before this call are skipped.
+     */
+    public synchronized void start(WebDriver driver) {
+        stopFollowing(false);
+        clear();
+        if (driver == unsupportedOn) {
+            return;
+        }
+        this.driver = driver;
+        // The first read only moves Appium's cursor past what earlier tests logged
+        following = executor.scheduleWithFixedDelay(new Runnable() {
+            private boolean skipBacklog = true;
+
+            @Override
+            public void run() {
+                read(driver, skipBacklog);
+                skipBacklog = false;
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops following and drops the buffered lines — the test passed.
+     */
+    public synchronized void discard() {
+        stopFollowing(false);
+        clear();
+    }
+
+    /**
+     * Reads what is left, stops following, and returns the buffered lines, oldest first.
+     */
+    public synchronized List<String> stop() {
+        stopFollowing(true);
+        List<String> lines = lines();
+        clear();
+        return lines;
+    }
+
+    /**
+     * Buffered lines, oldest first.
+     */
+    public List<String> lines() {
+        synchronized (ring) {
+            List<String> lines = new ArrayList<>(size);
+            int oldest = (next - size + ring.length) % ring.length;
+            for (int i = 0; i < size; i++) {
+                lines.add(ring[(oldest + i) % ring.length]);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Lines that passed the filters but were pushed out of the ring by newer ones.
+     */
+    public long dropped() {
+        synchronized (ring) {
+            return dropped;
+        }
+    }
+
+    private void stopFollowing(boolean drain) {
+        if (following == null) {
+            return;
+        }
+        following.cancel(false);
+        WebDriver followed = driver;
+        try {
+            // Waits out a read in flight, then catches the lines logged up to now
+            executor.submit(() -> {
+                if (drain) {
+                    read(followed, false);
+                }
+            }).get(interval.toMillis() + 30_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.debug("Logcat follower did not settle — {}", e.getMessage());
+        }
+        following = null;
+        driver = null;
+    }
+
+    /**
+     * Reads the lines logged since the previous read. Runs on the follower thread.
+     */
+    private void read(WebDriver followed, boolean skip) {
+        if (followed == unsupportedOn) {
+            return;
+        }
+        List<LogEntry> entries;
+        try {
+            entries = followed.manage().logs().get(LOG_TYPE).getAll();
+        } catch (WebDriverException e) {
+            if (isUnsupported(e)) {
+                unsupportedOn = followed;
+                LOG.warn("Logcat is not available on this session — not following it until a new session starts: {}",
+                        e.getMessage().lines().findFirst().orElse(""));
+            } else {
+                LOG.debug("Logcat read failed — {}", e.getMessage());
+            }
+            return;
+        }
+        for (LogEntry entry : entries) {
+            String line = entry.getMessage();
+            Matcher start = startProc.matcher(line);
+            if (start.find()) {
+                appPid = start.group(1);
+            }
+            if (!skip && accept(line)) {
+                add(line);
+            }
+        }
+    }
+
+    /**
+     * Whether the server refused the read because it has no logcat log type, rather than failing once.
+     */
+    private static boolean isUnsupported(WebDriverException e) {
+        if (e instanceof UnsupportedCommandException) {
+            return true;
+        }
+        String message = String.valueOf(e.getMessage()).toLowerCase();
+        return message.contains("log type") && (message.contains("unsupported") || message.contains("not supported"));
+    }
+
+    /**
+     * Level and package filter for one threadtime line.
+     */
+    private boolean accept(String line) {
+        Matcher matcher = THREADTIME.matcher(line);
+        if (!matcher.find()) {
+            return line.contains(appPackage);
+        }
+        if (LEVELS.indexOf(matcher.group(2)) < minLevel) {
+            return false;
+        }
+        return matcher.group(1).equals(appPid) || line.contains(appPackage);
+    }
+
+    private void add(String line) {
+        synchronized (ring) {
+            if (size == ring.length) {
+                dropped++;
+            }
+            ring[next] = line;
+            next = (next + 1) % ring.length;
+            size = Math.min(size + 1, ring.length);
+        }
+    }
+
+    private void clear() {
+        synchronized (ring) {
+            Arrays.fill(ring, null);
+            next = 0;
+            size = 0;
+            dropped = 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.swaglabs.driver;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ScreenGeometry caches the window size of each session, per orientation.
+ *
+ * The size of a device screen only changes when it is rotated, so it is fetched once per session
+ * and orientation instead of before every scroll. Sessions are keyed by session id, so a pooled
+ * session keeps its geometry across test classes. Rotations must be reported through
+ * {@link #rotated(AndroidDriver, ScreenOrientation)} — OrientationHelper does this — after which
+ * the size for the new orientation is fetched once (or reused if the session was there before).
+ */
+public final class ScreenGeometry {
+
+    private static final Map<SessionId, SessionGeometry> SESSIONS = new ConcurrentHashMap<>();
+
+    private ScreenGeometry() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the window size for the session's current orientation, fetching it on first use.
+     */
+    public static Dimension size(AndroidDriver driver) {
+        SessionGeometry geometry = SESSIONS.computeIfAbsent(driver.getSessionId(), id -> new SessionGeometry());
+        synchronized (geometry) {
+            Dimension size = geometry.orientation == null ? null : geometry.sizes.get(geometry.orientation);
+            if (size == null) {
+                size = driver.manage().window().getSize();
+                geometry.orientation = size.width > size.height ? ScreenOrientation.LANDSCAPE : ScreenOrientation.PORTRAIT;
+                geometry.sizes.put(geometry.orientation, size);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Records that the session was rotated, so the next {@link #size(AndroidDriver)} answers for the new orientation.
+     */
+    public static void rotated(AndroidDriver driver, ScreenOrientation orientation) {
+        SessionGeometry geometry = SESSIONS.computeIfAbsent(driver.getSessionId(), id -> new SessionGeometry());
+        synchronized (geometry) {
+            geometry.orientation = orientation;
+        }
+    }
+
+    /**
+     * Drops everything cached for the session. Called when a session is quit or the screen may have changed size.
+     */
+    public static void invalidate(AndroidDriver driver) {
+        SessionId sessionId = driver.getSessionId();
+        if (sessionId != null) {
+            SESSIONS.remove(sessionId);
+        }
+    }
+
+    /**
+     * Cached sizes of one session and the orientation it was last seen in (null = unknown).
+     */
+    private static final class SessionGeometry {
+        private final Map<ScreenOrientation, Dimension> sizes = new EnumMap<>(ScreenOrientation.class);
+        private ScreenOrientation orientation;
+    }
+}
@@ -0,0 +1,255 @@
+package com.swaglabs.driver;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.appmanagement.ApplicationState;
+
+import org.openqa.selenium.ScreenOrientation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SessionPool keeps AndroidDriver sessions alive for the whole suite and leases them
+ * to test threads, so each test class no longer pays for a full UiAutomator2 session start.
+ *
+ * Lifecycle:
+ *   lease()    — hands out an idle session, or creates one on a miss
+ *   release()  — health-checks the session (reachable, app alive, orientation) and parks it
+ *   discard()  — quits a session that must not be reused
+ *   shutdown() — quits every session; called once at suite end
+ */
+public class SessionPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionPool.class);
+
+    private final Supplier<AndroidDriver> factory;
+    private final String appPackage;
+    private final int maxIdle;
+
+    private final Deque<PooledSession> idle = new ArrayDeque<>();
+    private final Map<Thread, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong createNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * @param factory    creates a brand-new session on a pool miss
+     * @param appPackage package checked on release to decide whether the app is still alive
+     * @param maxIdle    maximum number of idle sessions kept; extra sessions are quit on release
+     */
+    public SessionPool(Supplier<AndroidDriver> factory, String appPackage, int maxIdle) {
+        this.factory = factory;
+        this.appPackage = appPackage;
+        this.maxIdle = Math.max(1, maxIdle);
+    }
+
+    /**
+     * Leases a session to the calling thread. Reuses an idle session when one is available,
+     * otherwise creates a new one through the factory.
+     */
+    public PooledSession lease() {
+        if (closed) {
+            throw new IllegalStateException("Session pool has been shut down");
+        }
+        leases.incrementAndGet();
+
+        PooledSession session;
+        synchronized (idle) {
+            session = idle.pollFirst();
+        }
+
+        if (session != null) {
+            hits.incrementAndGet();
+            LOG.info("Session pool hit — reusing session {} (orientation: {})",
+                    session.driver().getSessionId(), session.lastOrientation());
+        } else {
+            session = create();
+        }
+
+        leased.put(Thread.currentThread(), session);
+        return session;
+    }
+
+    /**
+     * Returns the calling thread's session to the pool after checking that it is still usable.
+     * Unhealthy sessions are quit instead of being parked.
+     */
+    public void release(AndroidDriver driver) {
+        PooledSession session = leased.remove(Thread.currentThread());
+        if (session == null || session.driver() != driver) {
+            session = new PooledSession(driver, Duration.ZERO);
+        }
+
+        if (closed || !checkHealth(session)) {
+            quit(session);
+            return;
+        }
+
+        synchronized (idle) {
+            if (idle.size() < maxIdle) {
+                idle.addFirst(session);
+                LOG.info("Session {} returned to pool (idle: {})", driver.getSessionId(), idle.size());
+                return;
+            }
+        }
+        quit(session);
+    }
+
+    /**
+     * Quits the session without returning it to the pool (e.g. after a lost session).
+     */
+    public void discard(AndroidDriver driver) {
+        PooledSession session = leased.remove(Thread.currentThread());
+        quit(session != null ? session : new PooledSession(driver, Duration.ZERO));
+    }
+
+    /**
+     * Quits all idle and leased sessions. Safe to call more than once.
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        List<PooledSession> all = new ArrayList<>(leased.values());
+        leased.clear();
+        synchronized (idle) {
+            all.addAll(idle);
+            idle.clear();
+        }
+        all.forEach(this::quit);
+        LOG.info("Session pool shut down — {}", stats());
+    }
+
+    /**
+     * Returns a snapshot of pool counters.
+     */
+    public Stats stats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new Stats(leases.get(), hits.get(), created.get(), discarded.get(),
+                idleCount, Duration.ofNanos(createNanos.get()));
+    }
+
+    private PooledSession create() {
+        long start = System.nanoTime();
+        AndroidDriver driver = factory.get();
+        long elapsed = System.nanoTime() - start;
+
+        created.incrementAndGet();
+        createNanos.addAndGet(elapsed);
+        LOG.info("Session pool miss — created session {} in {} ms",
+                driver.getSessionId(), Duration.ofNanos(elapsed).toMillis());
+        return new PooledSession(driver, Duration.ofNanos(elapsed));
+    }
+
+    /**
+     * A session is healthy when the server still answers for it and the app under test is installed.
+     * The current orientation and app state are recorded so the next lease knows what it receives.
+     */
+    private boolean checkHealth(PooledSession session) {
+        AndroidDriver driver = session.driver();
+        if (driver.getSessionId() == null) {
+            return false;
+        }
+        try {
+            ApplicationState state = driver.queryAppState(appPackage);
+            if (state == ApplicationState.NOT_INSTALLED) {
+                LOG.warn("App {} is not installed in session {} — discarding", appPackage, driver.getSessionId());
+                return false;
+            }
+            session.recordState(state, driver.getOrientation());
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Session {} failed health check — discarding: {}", driver.getSessionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void quit(PooledSession session) {
+        discarded.incrementAndGet();
+        try {
+            session.driver().quit();
+        } catch (Exception e) {
+            LOG.warn("Error quitting pooled session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A driver owned by the pool together with what was observed at its last health check.
+     */
+    public static final class PooledSession {
+
+        private final AndroidDriver driver;
+        private final Duration creationTime;
+        private volatile ApplicationState lastAppState;
+        private volatile ScreenOrientation lastOrientation;
+
+        PooledSession(AndroidDriver driver, Duration creationTime) {
+            this.driver = driver;
+            this.creationTime = creationTime;
+        }
+
+        public AndroidDriver driver() {
+            return driver;
+        }
+
+        public Duration creationTime() {
+            return creationTime;
+        }
+
+        public ApplicationState lastAppState() {
+            return lastAppState;
+        }
+
+        public ScreenOrientation lastOrientation() {
+            return lastOrientation;
+        }
+
+        void recordState(ApplicationState appState, ScreenOrientation orientation) {
+            this.lastAppState = appState;
+            this.lastOrientation = orientation;
+        }
+    }
+
+    /**
+     * Pool counters. Time saved assumes every hit would otherwise have cost an average session start.
+     */
+    public record Stats(long leases, long hits, long created, long discarded, int idle, Duration totalCreateTime) {
+
+        public double hitRate() {
+            return leases == 0 ? 0.0 : (double) hits / leases;
+        }
+
+        public Duration averageCreateTime() {
+            return created == 0 ? Duration.ZERO : totalCreateTime.dividedBy(created);
+        }
+
+        public Duration timeSaved() {
+            return averageCreateTime().multipliedBy(hits);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("leases=%d hits=%d created=%d discarded=%d idle=%d hitRate=%.0f%% timeSaved=%dms",
+                    leases, hits, created, discarded, idle, hitRate() * 100, timeSaved().toMillis());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.swaglabs.driver;
+
+import com.swaglabs.config.ConfigReader;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * SessionPrewarmer hides session-start latency by creating the next driver session in the
+ * background on a spare device while the current test class is still running.
+ * The next {@code initDriver()} claims the ready session instead of waiting for a new one.
+ *
+ * At most one warm session is kept at a time. The spare device stays leased by the prewarmer
+ * until the session is claimed, so no other thread can start a session on it meanwhile. This
+ * takes at least two devices in the registry: a second UiAutomator2 session on the same udid
+ * would end the one a test is using, so with a single device nothing is ever pre-warmed.
+ * A claim waits at most 'session.start.timeout.seconds' for a session still being created, and
+ * waits outside the prewarmer's lock, so other threads can keep pre-warming meanwhile.
+ */
+public class SessionPrewarmer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionPrewarmer.class);
+
+    private final DeviceRegistry registry;
+    private final Function<DeviceRegistry.Device, AndroidDriver> factory;
+    private final Predicate<DeviceRegistry.Device> alreadyWarm;
+    private final Duration startTimeout;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "session-prewarmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong wasted = new AtomicLong();
+    private final AtomicLong noSpareDevice = new AtomicLong();
+    private final AtomicLong hiddenNanos = new AtomicLong();
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    private Pending pending;
+    private boolean closed;
+
+    public SessionPrewarmer(DeviceRegistry registry, Function<DeviceRegistry.Device, AndroidDriver> factory) {
+        this(registry, factory, device -> false);
+    }
+
+    /**
+     * @param alreadyWarm tells whether a spare device already has a usable session (e.g. an idle
+     *                    pooled one), in which case pre-warming it would be wasted work
+     */
+    public SessionPrewarmer(DeviceRegistry registry, Function<DeviceRegistry.Device, AndroidDriver> factory,
+                            Predicate<DeviceRegistry.Device> alreadyWarm) {
+        this(registry, factory, alreadyWarm,
+                Duration.ofSeconds(ConfigReader.getInt("session.start.timeout.seconds", 180)));
+    }
+
+    /**
+     * @param startTimeout how long a claim waits for a session still being created
+     */
+    public SessionPrewarmer(DeviceRegistry registry, Function<DeviceRegistry.Device, AndroidDriver> factory,
+                            Predicate<DeviceRegistry.Device> alreadyWarm, Duration startTimeout) {
+        this.registry = registry;
+        this.factory = factory;
+        this.alreadyWarm = alreadyWarm;
+        this.startTimeout = startTimeout;
+        if (registry.size() < 2) {
+            LOG.warn("Session pre-warming is enabled but the device registry has {} device(s) — "
+                    + "it needs a spare device, so no session will be pre-warmed", registry.size());
+        }
+    }
+
+    /**
+     * Starts creating a session on a spare device unless one is already warming or no device is free.
+     */
+    public synchronized void prewarmNext() {
+        if (closed || pending != null) {
+            return;
+        }
+        DeviceRegistry.Device device = registry.tryLease();
+        if (device == null) {
+            noSpareDevice.incrementAndGet();
+            LOG.debug("No spare device to pre-warm a session on");
+            return;
+        }
+        if (alreadyWarm.test(device)) {
+            registry.release(device);
+            return;
+        }
+
+        started.incrementAndGet();
+        CompletableFuture<WarmSession> future = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            AndroidDriver driver = factory.apply(device);
+            Duration creationTime = Duration.ofNanos(System.nanoTime() - start);
+            LOG.info("Pre-warmed session {} on {} in {} ms",
+                    driver.getSessionId(), device, creationTime.toMillis());
+            return new WarmSession(device, driver, creationTime);
+        }, executor);
+        pending = new Pending(device, future);
+    }
+
+    /**
+     * Claims the pre-warmed session, waiting up to the session-start timeout if creation is still
+     * in flight. Returns null when nothing was pre-warmed, creation failed or timed out; the device
+     * lease then goes back to the registry.
+     */
+    public WarmSession claim() {
+        Pending claimedPending;
+        synchronized (this) {
+            if (pending == null) {
+                return null;
+            }
+            claimedPending = pending;
+            pending = null;
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            WarmSession session = claimedPending.future().get(startTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            long waited = System.nanoTime() - waitStart;
+            long hidden = Math.max(0, session.creationTime().toNanos() - waited);
+
+            claimed.incrementAndGet();
+            waitedNanos.addAndGet(waited);
+            hiddenNanos.addAndGet(hidden);
+            LOG.info("Claimed pre-warmed session {} on {} — hid {} ms of session start",
+                    session.driver().getSessionId(), session.device(), Duration.ofNanos(hidden).toMillis());
+            return session;
+        } catch (ExecutionException e) {
+            failed.incrementAndGet();
+            registry.release(claimedPending.device());
+            LOG.warn("Pre-warming on {} failed: {}", claimedPending.device(), e.getCause().getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            // The session is quit and the device released whenever creation finally completes
+            discard(claimedPending);
+            LOG.warn("Pre-warmed session on {} not ready within {}s — starting a new one",
+                    claimedPending.device(), startTimeout.toSeconds());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(claimedPending);
+            return null;
+        }
+    }
+
+    /**
+     * Quits any unclaimed warm session and stops the background thread.
+     */
+    public synchronized void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pending != null) {
+            discard(pending);
+            pending = null;
+        }
+        executor.shutdownNow();
+        LOG.info("Session pre-warmer shut down — {}", stats());
+    }
+
+    /**
+     * Returns a snapshot of pre-warming counters.
+     */
+    public Stats stats() {
+        return new Stats(started.get(), claimed.get(), failed.get(), wasted.get(), noSpareDevice.get(),
+                Duration.ofNanos(hiddenNanos.get()), Duration.ofNanos(waitedNanos.get()));
+    }
+
+    private void discard(Pending unclaimed) {
+        wasted.incrementAndGet();
+        unclaimed.future().thenAccept(session -> {
+            try {
+                session.driver().quit();
+            } catch (Exception e) {
+                LOG.warn("Error quitting unclaimed warm session: {}", e.getMessage());
+            }
+        });
+        unclaimed.future().whenComplete((session, error) -> registry.release(unclaimed.device()));
+    }
+
+    private record Pending(DeviceRegistry.Device device, CompletableFuture<WarmSession> future) {
+    }
+
+    /**
+     * A ready session together with the device it runs on. The device is still leased
+     * and passes to the claiming thread.
+     */
+    public record WarmSession(DeviceRegistry.Device device, AndroidDriver driver, Duration creationTime) {
+    }
+
+    /**
+     * Pre-warming counters. Hidden latency is session-start time that overlapped a running test class.
+     */
+    public record Stats(long started, long claimed, long failed, long wasted, long noSpareDevice,
+                        Duration hiddenLatency, Duration waited) {
+
+        @Override
+        public String toString() {
+            return String.format("started=%d claimed=%d failed=%d wasted=%d noSpareDevice=%d hidden=%dms waited=%dms",
+                    started, claimed, failed, wasted, noSpareDevice, hiddenLatency.toMillis(), waited.toMillis());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.swaglabs.driver;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.HttpClient;
+
+import java.net.URL;
+
+/**
+ * TimedAndroidDriver is an AndroidDriver that times every W3C command it sends and feeds
+ * {@link CommandMetrics}.
+ *
+ * It overrides {@code execute(CommandPayload)}, the single funnel every driver and element command
+ * goes through (findElement, clickElement, getElementText, getPageSource, actions,
+ * setScreenOrientation, ...). {@code mobile:} extensions are recorded under their script name
+ * rather than the generic executeScript. A command that throws is recorded with its error, so
+ * failures can be told apart by what the driver saw (see {@link CommandMetrics#recentCommands()}).
+ */
+public class TimedAndroidDriver extends AndroidDriver {
+
+    public TimedAndroidDriver(URL remoteAddress, Capabilities capabilities) {
+        super(remoteAddress, capabilities);
+    }
+
+    public TimedAndroidDriver(URL remoteAddress, HttpClient.Factory httpClientFactory, Capabilities capabilities) {
+        super(remoteAddress, httpClientFactory, capabilities);
+    }
+
+    @Override
+    protected Response execute(CommandPayload payload) {
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return super.execute(payload);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            CommandMetrics.record(commandName(payload), System.nanoTime() - start, error);
+        }
+    }
+
+    private static String commandName(CommandPayload payload) {
+        String command = payload.getName();
+        if (command.startsWith("execute")
+                && payload.getParameters().get("script") instanceof String script && script.startsWith("mobile:")) {
+            return script;
+        }
+        return command;
+    }
+}
@@ -0,0 +1,271 @@
+package com.swaglabs.driver;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.openqa.selenium.Credentials;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UsernameAndPassword;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * TunedHttpClientFactory builds the HTTP transport between the driver and the Appium server
+ * or cloud hub on top of the JDK HttpClient, with settings taken from {@link ConfigReader}:
+ *
+ *   http.connect.timeout.seconds — TCP/TLS connect timeout
+ *   http.read.timeout.seconds    — per-command response timeout
+ *   http.keepalive.seconds       — how long idle connections stay in the pool
+ *   http.pool.max.connections    — idle connections kept per host (0 = unbounded)
+ *   http.version                 — HTTP_1_1 or HTTP_2 (HTTP_2 is worth it for https cloud hubs)
+ *   http.gzip                    — ask the server to gzip responses (page source, screenshots)
+ *
+ * One JDK client is shared by every session created through the factory, so connections to the
+ * same server are reused across test classes. Credentials in the hub URL are sent preemptively,
+ * which saves the 401 challenge round-trip on the first command.
+ */
+public class TunedHttpClientFactory implements HttpClient.Factory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TunedHttpClientFactory.class);
+
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final Settings settings;
+    private final java.net.http.HttpClient client;
+
+    private volatile HttpClient.Factory socketFactory;
+
+    public TunedHttpClientFactory(Settings settings) {
+        this.settings = settings;
+        applyPoolProperties(settings);
+        this.client = java.net.http.HttpClient.newBuilder()
+                .version(settings.version())
+                .connectTimeout(settings.connectTimeout())
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+                .build();
+        LOG.info("HTTP transport — {}", settings);
+    }
+
+    /**
+     * Creates a factory from the http.* keys in the active config file.
+     */
+    public static TunedHttpClientFactory fromConfig() {
+        return new TunedHttpClientFactory(Settings.fromConfig());
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        ClientConfig tuned = config
+                .connectionTimeout(settings.connectTimeout())
+                .readTimeout(settings.readTimeout());
+        return new TunedHttpClient(tuned);
+    }
+
+    /**
+     * The JDK reads its connection-pool limits once, when the first client is created,
+     * so they are only applied if nobody has set them explicitly.
+     */
+    private static void applyPoolProperties(Settings settings) {
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(settings.keepAlive().toSeconds()));
+        }
+        if (System.getProperty("jdk.httpclient.connectionPoolSize") == null) {
+            System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(settings.maxConnections()));
+        }
+    }
+
+    private WebSocket openSocket(ClientConfig config, HttpRequest request, WebSocket.Listener listener) {
+        if (socketFactory == null) {
+            socketFactory = HttpClient.Factory.createDefault();
+        }
+        return socketFactory.createClient(config).openSocket(request, listener);
+    }
+
+    /**
+     * Per-session view of the shared JDK client, bound to one base URL.
+     */
+    private final class TunedHttpClient implements HttpClient {
+
+        private final ClientConfig config;
+        private final HttpHandler handler;
+        private final String authorization;
+
+        TunedHttpClient(ClientConfig config) {
+            this.config = config;
+            this.authorization = basicAuth(config);
+            HttpHandler send = this::send;
+            this.handler = send.with(config.filter());
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return handler.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return TunedHttpClientFactory.this.openSocket(config, request, listener);
+        }
+
+        @Override
+        public void close() {
+            // The JDK client and its connection pool are shared across sessions
+        }
+
+        private HttpResponse send(HttpRequest request) {
+            java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(toUri(request))
+                    .timeout(config.readTimeout());
+
+            request.forEachHeader((name, value) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    builder.header(name, value);
+                }
+            });
+            if (authorization != null && request.getHeader("Authorization") == null) {
+                builder.header("Authorization", authorization);
+            }
+            if (settings.gzip()) {
+                builder.header("Accept-Encoding", "gzip");
+            }
+
+            switch (request.getMethod()) {
+                case GET -> builder.GET();
+                case DELETE -> builder.DELETE();
+                default -> builder.method(request.getMethod().name(),
+                        java.net.http.HttpRequest.BodyPublishers.ofByteArray(Contents.bytes(request.getContent())));
+            }
+
+            try {
+                return toResponse(client.send(builder.build(), java.net.http.HttpResponse.BodyHandlers.ofByteArray()));
+            } catch (HttpTimeoutException e) {
+                throw new TimeoutException("No response from " + config.baseUri() + " within "
+                        + config.readTimeout().toSeconds() + "s for " + request.getMethod() + " " + request.getUri(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for " + request.getUri()));
+            }
+        }
+
+        private URI toUri(HttpRequest request) {
+            String base = config.baseUri().toString();
+            URI baseUri = config.baseUri();
+            if (baseUri.getRawUserInfo() != null) {
+                base = base.replace(baseUri.getRawUserInfo() + "@", "");
+            }
+            StringBuilder url = new StringBuilder(base.replaceAll("/$", "")).append(request.getUri());
+
+            StringJoiner query = new StringJoiner("&");
+            for (String name : request.getQueryParameterNames()) {
+                for (String value : request.getQueryParameters(name)) {
+                    query.add(encode(name) + "=" + encode(value));
+                }
+            }
+            if (query.length() > 0) {
+                url.append('?').append(query);
+            }
+            return URI.create(url.toString());
+        }
+
+        private HttpResponse toResponse(java.net.http.HttpResponse<byte[]> response) throws IOException {
+            HttpResponse result = new HttpResponse().setStatus(response.statusCode());
+            boolean gzipped = false;
+            for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+                String name = header.getKey();
+                if (name.startsWith(":")) {
+                    continue;
+                }
+                if (name.equalsIgnoreCase("Content-Encoding") && header.getValue().contains("gzip")) {
+                    gzipped = true;
+                    continue;
+                }
+                if (name.equalsIgnoreCase("Content-Length")) {
+                    continue;
+                }
+                header.getValue().forEach(value -> result.addHeader(name, value));
+            }
+
+            byte[] body = response.body();
+            if (gzipped) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    body = in.readAllBytes();
+                }
+            }
+            result.setContent(Contents.bytes(body));
+            return result;
+        }
+    }
+
+    private static String basicAuth(ClientConfig config) {
+        String userInfo = config.baseUri().getUserInfo();
+        String credentials = null;
+        if (userInfo != null && !userInfo.isBlank()) {
+            credentials = userInfo;
+        } else {
+            Credentials configured = config.credentials();
+            if (configured instanceof UsernameAndPassword up) {
+                credentials = up.username() + ":" + up.password();
+            }
+        }
+        return credentials == null ? null
+                : "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Transport settings. Defaults match Selenium's own client apart from gzip and keep-alive.
+     */
+    public record Settings(Duration connectTimeout, Duration readTimeout, Duration keepAlive,
+                           int maxConnections, java.net.http.HttpClient.Version version, boolean gzip) {
+
+        public static Settings fromConfig() {
+            return new Settings(
+                    Duration.ofSeconds(ConfigReader.getInt("http.connect.timeout.seconds", 10)),
+                    Duration.ofSeconds(ConfigReader.getInt("http.read.timeout.seconds", 180)),
+                    Duration.ofSeconds(ConfigReader.getInt("http.keepalive.seconds", 300)),
+                    ConfigReader.getInt("http.pool.max.connections", 0),
+                    java.net.http.HttpClient.Version.valueOf(
+                            ConfigReader.get("http.version", "HTTP_1_1").trim().toUpperCase()),
+                    ConfigReader.getBoolean("http.gzip", true));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s connect=%ds read=%ds keepAlive=%ds maxConnections=%s gzip=%s",
+                    version, connectTimeout.toSeconds(), readTimeout.toSeconds(), keepAlive.toSeconds(),
+                    maxConnections == 0 ? "unbounded" : maxConnections, gzip);
+        }
+    }
+}
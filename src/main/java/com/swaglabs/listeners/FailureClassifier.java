@@ -0,0 +1,145 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.driver.CommandMetrics;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.openqa.selenium.remote.http.ConnectionFailedException;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * FailureClassifier tells infrastructure failures, which a retry can fix, from product failures,
+ * which it cannot.
+ *
+ * A failure is INFRASTRUCTURE when its cause chain holds a lost or never-created session, a
+ * transport error (connection refused or reset, read timeout, I/O), or a driver error whose message
+ * names one (the UiAutomator2 instrumentation died, a proxied command failed). Page objects
+ * swallow some driver errors into "not displayed", so the test's recent command history is checked
+ * too: an assertion that follows a command failing that way is classified by the command. Anything
+ * else — assertion failures, missing elements, wait timeouts on a live session — is PRODUCT.
+ *
+ * The classification is computed once per result and kept as a result attribute.
+ */
+public final class FailureClassifier {
+
+    private static final String ATTRIBUTE = "failureClassification";
+
+    private static final Set<Class<? extends Throwable>> INFRASTRUCTURE_TYPES = Set.of(
+            NoSuchSessionException.class,
+            SessionNotCreatedException.class,
+            UnreachableBrowserException.class,
+            ConnectionFailedException.class,
+            IOException.class,
+            UncheckedIOException.class);
+
+    private static final List<String> INFRASTRUCTURE_MESSAGES = List.of(
+            "invalid session id",
+            "session is either terminated or not started",
+            "instrumentation process is not running",
+            "could not proxy command",
+            "socket hang up",
+            "econnrefused",
+            "econnreset",
+            "connection refused",
+            "connection reset",
+            "read timed out",
+            "timed out receiving message",
+            "cannot be proxied to uiautomator2 server");
+
+    /**
+     * Which side of the line a failure falls on.
+     */
+    public enum FailureClass {
+        /** Session, device or transport trouble; the same test may pass on another attempt. */
+        INFRASTRUCTURE,
+        /** The app or the test's expectation; a retry only repeats it. */
+        PRODUCT
+    }
+
+    /**
+     * A failure class and the evidence it was decided on.
+     */
+    public record Classification(FailureClass failureClass, String reason) {
+
+        public boolean retryable() {
+            return failureClass == FailureClass.INFRASTRUCTURE;
+        }
+
+        @Override
+        public String toString() {
+            return failureClass + " — " + reason;
+        }
+    }
+
+    private FailureClassifier() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Classifies a failed result from its throwable and the thread's recent commands, once.
+     */
+    public static Classification classify(ITestResult result) {
+        Object cached = result.getAttribute(ATTRIBUTE);
+        if (cached instanceof Classification classification) {
+            return classification;
+        }
+        Classification classification = classify(result.getThrowable(), CommandMetrics.recentCommands());
+        result.setAttribute(ATTRIBUTE, classification);
+        return classification;
+    }
+
+    /**
+     * Classifies a failure from its throwable and the commands sent before it, oldest first.
+     */
+    public static Classification classify(Throwable failure, List<CommandMetrics.Command> recentCommands) {
+        String cause = infrastructureCause(failure);
+        if (cause != null) {
+            return new Classification(FailureClass.INFRASTRUCTURE, cause);
+        }
+        for (int i = recentCommands.size() - 1; i >= 0; i--) {
+            CommandMetrics.Command command = recentCommands.get(i);
+            String commandCause = infrastructureCause(command.error());
+            if (commandCause != null) {
+                return new Classification(FailureClass.INFRASTRUCTURE, command.name() + " failed: " + commandCause);
+            }
+        }
+        return new Classification(FailureClass.PRODUCT,
+                failure == null ? "no throwable" : failure.getClass().getSimpleName() + ": " + firstLine(failure));
+    }
+
+    /**
+     * Describes the first infrastructure error in the cause chain, or returns null if there is none.
+     */
+    private static String infrastructureCause(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            for (Class<? extends Throwable> type : INFRASTRUCTURE_TYPES) {
+                if (type.isInstance(t)) {
+                    return t.getClass().getSimpleName() + ": " + firstLine(t);
+                }
+            }
+            if (t instanceof WebDriverException && t.getMessage() != null) {
+                String message = t.getMessage().toLowerCase(Locale.ROOT);
+                for (String marker : INFRASTRUCTURE_MESSAGES) {
+                    if (message.contains(marker)) {
+                        return t.getClass().getSimpleName() + ": " + marker;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String firstLine(Throwable t) {
+        String message = String.valueOf(t.getMessage());
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
@@ -0,0 +1,33 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.driver.DeviceRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * ParallelSuiteListener sizes TestNG's worker pool to the device registry before the suite runs,
+ * so a suite declared with parallel="classes" uses exactly one thread per available device.
+ * Must be registered in the suite XML (IAlterSuiteListener is not picked up from @Listeners).
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int deviceCount = DeviceRegistry.shared().size();
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+                continue;
+            }
+            suite.setThreadCount(deviceCount);
+            LOG.info("Suite '{}' — parallel={} with {} thread(s), one per device",
+                    suite.getName(), suite.getParallel(), deviceCount);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.pages.AppReset;
+import com.swaglabs.pages.Screen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Precondition declares the app state a test method starts from.
+ *
+ * BaseTest establishes it before the method runs, reusing the state the previous test left
+ * behind where possible, and {@link PreconditionInterceptor} orders methods so that consecutive
+ * tests share or incrementally extend the same state.
+ *
+ * Example: {@code @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 2, mutates = false)}
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Precondition {
+
+    /** The screen the test starts on. */
+    Screen screen() default Screen.PRODUCTS;
+
+    /** Products in the cart when the test starts. */
+    int cartItems() default 0;
+
+    /** How clean the app must be; a non-empty cart implies at least APP_STATE. */
+    AppReset.Cleanliness cleanliness() default AppReset.Cleanliness.APP_STATE;
+
+    /**
+     * Whether the test may change the cart. A test that leaves it intact lets the next test
+     * reuse the state without a reset.
+     */
+    boolean mutates() default true;
+}
@@ -0,0 +1,58 @@
+package com.swaglabs.listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PreconditionInterceptor orders test methods so that consecutive tests share app state.
+ *
+ * Classes keep their order and priorities are respected. Within a class and priority, methods
+ * run by the cart size of their {@link Precondition} (so each state extends the previous one),
+ * tests that leave the cart intact before those that change it, then by start screen. Methods
+ * without a precondition keep their relative order ahead of annotated ones. The sort is stable,
+ * so equal keys stay in TestNG's order.
+ */
+public class PreconditionInterceptor implements IMethodInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PreconditionInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Map<Class<?>, Integer> classOrder = new HashMap<>();
+        for (IMethodInstance method : methods) {
+            classOrder.putIfAbsent(method.getMethod().getRealClass(), classOrder.size());
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+                .comparingInt((IMethodInstance method) -> classOrder.get(method.getMethod().getRealClass()))
+                .thenComparingInt(method -> method.getMethod().getPriority())
+                .thenComparingInt(method -> precondition(method) == null ? 0 : 1)
+                .thenComparingInt(method -> precondition(method) == null ? 0 : precondition(method).cartItems())
+                .thenComparing(method -> precondition(method) != null && precondition(method).mutates())
+                .thenComparingInt(method -> precondition(method) == null ? 0 : precondition(method).screen().ordinal()));
+
+        if (LOG.isDebugEnabled()) {
+            ordered.forEach(method -> LOG.debug("Run order — {}", method.getMethod().getQualifiedName()));
+        }
+        return ordered;
+    }
+
+    /**
+     * The method's declared precondition, or null.
+     */
+    static Precondition precondition(IMethodInstance method) {
+        Method reflected = method.getMethod().getConstructorOrMethod().getMethod();
+        return reflected == null ? null : reflected.getAnnotation(Precondition.class);
+    }
+}
@@ -1,6 +1,8 @@
 package com.swaglabs.listeners;
 
 import com.swaglabs.config.ConfigReader;
+import com.swaglabs.driver.DriverManager;
+import com.swaglabs.pages.ScreenClassifier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,20 +12,36 @@ import org.testng.ITestResult;
 /**
  * RetryAnalyzer automatically retries failed tests up to the configured maximum.
  * Helps identify flaky tests and provides retry counts in the report.
+ * Each retry logs the screen the failed attempt left the app on.
+ *
+ * Only failures the {@link FailureClassifier} puts down to infrastructure are retried; an assertion
+ * or other product failure would fail the same way again and is reported at once. Retries back off
+ * exponentially from 'retry.backoff.ms' and, with 'retry.fresh.session', run on a new session.
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
     private static final Logger LOG = LoggerFactory.getLogger(RetryAnalyzer.class);
     private static final int MAX_RETRY_COUNT = ConfigReader.getInt("max.retry.count", 2);
+    private static final long BACKOFF_MS = ConfigReader.getInt("retry.backoff.ms", 1000);
+    private static final boolean FRESH_SESSION = ConfigReader.getBoolean("retry.fresh.session", true);
 
     private int retryCount = 0;
 
     @Override
     public boolean retry(ITestResult result) {
+        FailureClassifier.Classification classification = FailureClassifier.classify(result);
+        if (!classification.retryable()) {
+            LOG.warn("Not retrying test '{}' — {}", result.getName(), classification);
+            return false;
+        }
         if (retryCount < MAX_RETRY_COUNT) {
             retryCount++;
-            LOG.warn("Retrying test '{}' — attempt {}/{}",
-                    result.getName(), retryCount, MAX_RETRY_COUNT);
+            LOG.warn("Retrying test '{}' — attempt {}/{} after {}, left on screen {}",
+                    result.getName(), retryCount, MAX_RETRY_COUNT, classification, ScreenClassifier.classifyCurrent());
+            backOff();
+            if (FRESH_SESSION) {
+                DriverManager.requestFreshSession();
+            }
             return true;
         }
         return false;
@@ -35,4 +53,16 @@ public class RetryAnalyzer implements IRetryAnalyzer {
     public int getRetryCount() {
         return retryCount;
     }
+
+    private void backOff() {
+        long delay = BACKOFF_MS << (retryCount - 1);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
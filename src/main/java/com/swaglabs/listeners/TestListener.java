@@ -1,22 +1,97 @@
 package com.swaglabs.listeners;
 
+import com.swaglabs.driver.CommandMetrics;
+import com.swaglabs.driver.DeviceRegistry;
+import com.swaglabs.driver.DriverManager;
+import com.swaglabs.driver.LogcatFollower;
+import com.swaglabs.pages.AppReset;
+import com.swaglabs.pages.ScreenClassifier;
+import com.swaglabs.pages.StepCheckpoints;
+import com.swaglabs.utils.FrameSampler;
+import com.swaglabs.utils.ScreenshotPipeline;
+import com.swaglabs.utils.ScreenshotStore;
 import com.swaglabs.utils.ScreenshotUtil;
+import com.swaglabs.utils.TestHistory;
+import com.swaglabs.utils.WaitEngine;
 
 import io.qameta.allure.Allure;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * TestListener implements ITestListener to handle test lifecycle events.
  * Automatically captures screenshots on failure and logs test execution details.
+ * As an ISuiteListener it also tears down pooled driver sessions at suite end.
+ * Per-test command latencies and wait times-to-satisfy are attached to Allure; suite totals go to
+ * reports/command-latency.json and reports/wait-latency.json, reset tier timings to
+ * reports/reset-timings.json, screenshot sizes and duplicates to reports/screenshot-storage.json.
+ * On failure the screen the app was left on is classified from one page source and attached
+ * as well, together with an animated GIF of the last seconds when the {@link FrameSampler} is on
+ * and the app's logcat lines streamed during the test by the {@link LogcatFollower}. Every failure,
+ * retried or final, is labelled INFRASTRUCTURE or PRODUCT by the {@link FailureClassifier}.
+ * Every attempt's outcome and duration is appended to the {@link TestHistory}, summarised per
+ * test in reports/test-history.json.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(TestListener.class);
+    private static final String COMMAND_LATENCY_REPORT = "reports/command-latency.json";
+    private static final String WAIT_LATENCY_REPORT = "reports/wait-latency.json";
+    private static final String RESET_TIMING_REPORT = "reports/reset-timings.json";
+    private static final String SCREENSHOT_STORAGE_REPORT = "reports/screenshot-storage.json";
+    private static final String FRAME_SAMPLER_REPORT = "reports/frame-sampler.json";
+    private static final String TEST_HISTORY_REPORT = "reports/test-history.json";
+    private static final int FLAKIEST_SHOWN = 5;
+    private static final Duration SCREENSHOT_FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!TestHistory.isEnabled()) {
+            return;
+        }
+        // Loads the history once, up front, and names the tests earlier runs found flaky
+        TestHistory history = TestHistory.shared();
+        List<Flaky> flaky = new ArrayList<>();
+        for (String testId : history.testIds()) {
+            double flakeRate = history.flakeRate(testId);
+            if (flakeRate > 0) {
+                flaky.add(new Flaky(testId, flakeRate));
+            }
+        }
+        flaky.sort((a, b) -> Double.compare(b.rate(), a.rate()));
+        flaky.stream().limit(FLAKIEST_SHOWN).forEach(f ->
+                LOG.info("Known flaky: {} — passed only on retry in {}% of runs", f.testId(), Math.round(f.rate() * 100)));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        LOG.info("========== Suite Finished: {} — releasing driver sessions ==========", suite.getName());
+        DriverManager.shutdown();
+        CommandMetrics.writeSuiteReport(Paths.get(COMMAND_LATENCY_REPORT));
+        WaitEngine.writeSuiteReport(Paths.get(WAIT_LATENCY_REPORT));
+        AppReset.writeSuiteReport(Paths.get(RESET_TIMING_REPORT));
+        ScreenshotPipeline.shared().flush(SCREENSHOT_FLUSH_TIMEOUT);
+        ScreenshotStore.shared().writeReport(Paths.get(SCREENSHOT_STORAGE_REPORT));
+        FrameSampler.writeSuiteReport(Paths.get(FRAME_SAMPLER_REPORT));
+        if (TestHistory.isEnabled()) {
+            TestHistory.shared().writeReport(Paths.get(TEST_HISTORY_REPORT));
+        }
+    }
 
     @Override
     public void onStart(ITestContext context) {
@@ -37,6 +112,10 @@ public class TestListener implements ITestListener {
         LOG.info("▶ Starting test: {}.{}",
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName());
+        CommandMetrics.startTest();
+        WaitEngine.current().startTest();
+        startFrameSampler();
+        startLogcat();
     }
 
     @Override
@@ -45,6 +124,11 @@ public class TestListener implements ITestListener {
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName(),
                 result.getEndMillis() - result.getStartMillis());
+        stopFrameSampler(false);
+        stopLogcat(false);
+        StepCheckpoints.finish(result);
+        recordHistory(result, TestHistory.Outcome.PASSED);
+        attachCommandLatency();
     }
 
     @Override
@@ -53,19 +137,26 @@ public class TestListener implements ITestListener {
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName(),
                 result.getThrowable().getMessage());
+        // Classified before the listener's own commands below can add to the history
+        recordFailureClass(result);
+        recordHistory(result, TestHistory.Outcome.FAILED);
 
-        // Capture screenshot on failure
-        String screenshotPath = ScreenshotUtil.captureAndSave(
-                result.getTestClass().getRealClass().getSimpleName() + "_" +
-                        result.getMethod().getMethodName());
+        stopFrameSampler(true);
+        stopLogcat(true);
+        StepCheckpoints.finish(result);
 
-        if (screenshotPath != null) {
-            Allure.addAttachment("Failure Screenshot Path", screenshotPath);
-        }
+        captureFailureScreenshot(result);
 
         // Attach exception details to Allure
         Allure.addAttachment("Exception",
                 result.getThrowable().toString());
+
+        ScreenClassifier.Classification screen = ScreenClassifier.classifyCurrent();
+        if (screen != null) {
+            LOG.error("  Screen at failure: {}", screen);
+            Allure.addAttachment("Screen at Failure", screen.toString());
+        }
+        attachCommandLatency();
     }
 
     @Override
@@ -77,6 +168,19 @@ public class TestListener implements ITestListener {
         if (result.getThrowable() != null) {
             LOG.warn("Skip reason: {}", result.getThrowable().getMessage());
         }
+        // A retried attempt is reported as skipped, but it failed
+        if (result.wasRetried()) {
+            recordFailureClass(result);
+            captureFailureScreenshot(result);
+        }
+        stopFrameSampler(result.wasRetried());
+        stopLogcat(result.wasRetried());
+        // A retried attempt keeps its checkpoint for the next one
+        if (!result.wasRetried()) {
+            StepCheckpoints.finish(result);
+        }
+        recordHistory(result, result.wasRetried() ? TestHistory.Outcome.RETRIED : TestHistory.Outcome.SKIPPED);
+        attachCommandLatency();
     }
 
     @Override
@@ -85,4 +189,132 @@ public class TestListener implements ITestListener {
                 result.getTestClass().getRealClass().getSimpleName(),
                 result.getMethod().getMethodName());
     }
+
+    /**
+     * Captures the failure screen — one capture, written to disk and Allure in the background.
+     * Every attempt of a test uses the same name, so a retry that fails on the same screen is
+     * stored as a reference to the first attempt's file. The path attachment is registered now
+     * and filled in with the file the store resolved to.
+     */
+    private void captureFailureScreenshot(ITestResult result) {
+        String pathAttachment = Allure.getLifecycle().prepareAttachment("Failure Screenshot Path", "text/plain", ".txt");
+        ScreenshotUtil.captureAndSave(
+                result.getTestClass().getRealClass().getSimpleName() + "_" +
+                        result.getMethod().getMethodName())
+                .thenAccept(storedAs -> {
+                    String path = storedAs == null ? "not saved" : storedAs.toAbsolutePath().toString();
+                    Allure.getLifecycle().writeAttachment(pathAttachment,
+                            new ByteArrayInputStream(path.getBytes(StandardCharsets.UTF_8)));
+                });
+    }
+
+    /**
+     * Logs the failure's infrastructure / product classification and records it in Allure.
+     */
+    private void recordFailureClass(ITestResult result) {
+        FailureClassifier.Classification classification = FailureClassifier.classify(result);
+        LOG.error("  Failure class: {}", classification);
+        Allure.label("failureClass", classification.failureClass().name());
+        Allure.addAttachment("Failure Classification", classification.toString());
+    }
+
+    /**
+     * Appends the attempt — test, orientation, device, duration, outcome, retries, failure class —
+     * to the test history.
+     */
+    private void recordHistory(ITestResult result, TestHistory.Outcome outcome) {
+        if (!TestHistory.isEnabled()) {
+            return;
+        }
+        String orientation = result.getTestContext().getCurrentXmlTest().getParameter("orientation");
+        DeviceRegistry.Device device = DriverManager.getDevice();
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        int retries = analyzer instanceof RetryAnalyzer retryAnalyzer ? retryAnalyzer.getRetryCount() : 0;
+        // A retried attempt is counted before it reaches the listener; it was attempt retries - 1
+        if (outcome == TestHistory.Outcome.RETRIED) {
+            retries = Math.max(0, retries - 1);
+        }
+        String failureClass = outcome == TestHistory.Outcome.FAILED || outcome == TestHistory.Outcome.RETRIED
+                ? FailureClassifier.classify(result).failureClass().name() : null;
+        TestHistory.shared().record(new TestHistory.Run(
+                result.getStartMillis(),
+                result.getMethod().getQualifiedName() + Arrays.toString(result.getParameters()),
+                orientation != null ? orientation.toUpperCase() : "PORTRAIT",
+                device != null ? device.toString() : "unknown",
+                result.getEndMillis() - result.getStartMillis(),
+                outcome, retries, failureClass));
+    }
+
+    /**
+     * Starts sampling frames from the current thread's driver, if enabled and a driver is up.
+     */
+    private void startFrameSampler() {
+        if (!FrameSampler.isEnabled()) {
+            return;
+        }
+        try {
+            FrameSampler.current().start(DriverManager.getDriver());
+        } catch (IllegalStateException e) {
+            LOG.debug("No driver to sample frames from — {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops frame sampling; attaches the frames as a GIF if the test failed, drops them otherwise.
+     */
+    private void stopFrameSampler(boolean failed) {
+        if (!FrameSampler.isEnabled()) {
+            return;
+        }
+        if (!failed) {
+            FrameSampler.current().discard();
+            return;
+        }
+        byte[] gif = FrameSampler.current().stop();
+        if (gif != null) {
+            Allure.addAttachment("Frames Before Failure", "image/gif", new ByteArrayInputStream(gif), ".gif");
+        }
+    }
+
+    /**
+     * Starts streaming the current thread's device logcat, if enabled and a driver is up.
+     */
+    private void startLogcat() {
+        if (!LogcatFollower.isEnabled()) {
+            return;
+        }
+        try {
+            LogcatFollower.current().start(DriverManager.getDriver());
+        } catch (IllegalStateException e) {
+            LOG.debug("No driver to follow logcat from — {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops streaming logcat; attaches the buffered lines if the test failed, drops them otherwise.
+     */
+    private void stopLogcat(boolean failed) {
+        if (!LogcatFollower.isEnabled()) {
+            return;
+        }
+        if (!failed) {
+            LogcatFollower.current().discard();
+            return;
+        }
+        List<String> lines = LogcatFollower.current().stop();
+        if (!lines.isEmpty()) {
+            Allure.addAttachment("Logcat", "text/plain", String.join("\n", lines), ".txt");
+        }
+    }
+
+    /**
+     * Attaches the current test's per-command latency and per-locator wait percentiles to Allure.
+     */
+    private void attachCommandLatency() {
+        Allure.addAttachment("Command Latency (ms)", "application/json", CommandMetrics.testSummaryJson(), ".json");
+        Allure.addAttachment("Wait Latency (ms)", "application/json", WaitEngine.current().testSummaryJson(), ".json");
+    }
+
+    private record Flaky(String testId, double rate) {
+    }
 }
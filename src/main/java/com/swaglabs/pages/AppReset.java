@@ -0,0 +1,386 @@
+package com.swaglabs.pages;
+
+import com.swaglabs.config.ConfigReader;
+import com.swaglabs.driver.AppDataSnapshots;
+import com.swaglabs.driver.DriverManager;
+import com.swaglabs.utils.LatencyHistogram;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * AppReset brings the app to a test's start screen with the cleanliness the test declares,
+ * using the cheapest reset tier that provides it.
+ *
+ * Tiers, from cheapest to most thorough:
+ *   NAVIGATE   — walk the navigation graph, app data untouched
+ *   IN_APP     — the same walk routed through the menu's "Reset App State" (and Logout when the
+ *                start screen is the login screen)
+ *   RESTART    — terminateApp + activateApp
+ *   CLEAR_DATA — terminateApp + pm clear (mobile: shell) + activateApp
+ *   REINSTALL  — removeApp + installApp of app.path
+ *
+ * A tier is chosen by its measured mean duration in this run (defaults until measured). Every
+ * attempt is verified — the start screen must be showing, and for a clean start the cart must be
+ * empty — and a tier that leaves the wrong state escalates to the next more thorough one.
+ * Per-tier timings go to reports/reset-timings.json at suite end.
+ *
+ * {@link #prepare} builds a full precondition — start screen plus a number of cart items — and
+ * consults the {@link StateCache} first, so a cart the previous test left intact is reused or
+ * topped up instead of being reset and rebuilt. With app.snapshot.enabled a cart built once is
+ * captured as an {@link AppDataSnapshots app data snapshot} and later restored in one step.
+ */
+public class AppReset {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppReset.class);
+    private static final String APP_PACKAGE = ConfigReader.get("app.package", "com.swaglabsmobileapp");
+    private static final Map<Tier, LatencyHistogram> TIMINGS = new EnumMap<>(Tier.class);
+    private static final Map<Tier, Integer> FAILURES = new EnumMap<>(Tier.class);
+
+    /**
+     * How clean the app must be when a test starts. Each level includes the ones before it.
+     */
+    public enum Cleanliness {
+        /** Only the start screen matters. */
+        SCREEN,
+        /** In-app state cleared: empty cart, default sort. */
+        APP_STATE,
+        /** A freshly started app process. */
+        PROCESS,
+        /** App data wiped as on first launch. */
+        APP_DATA,
+        /** A freshly installed app. */
+        INSTALL
+    }
+
+    /**
+     * Reset tiers in escalation order, with the cleanliness each provides and its default cost.
+     */
+    public enum Tier {
+        NAVIGATE(Cleanliness.SCREEN, 2_000),
+        IN_APP(Cleanliness.APP_STATE, 4_000),
+        RESTART(Cleanliness.PROCESS, 6_000),
+        CLEAR_DATA(Cleanliness.APP_DATA, 9_000),
+        REINSTALL(Cleanliness.INSTALL, 30_000);
+
+        private final Cleanliness provides;
+        private final long defaultCostMs;
+
+        Tier(Cleanliness provides, long defaultCostMs) {
+            this.provides = provides;
+            this.defaultCostMs = defaultCostMs;
+        }
+
+        public Cleanliness provides() {
+            return provides;
+        }
+
+        public boolean satisfies(Cleanliness required) {
+            return provides.compareTo(required) >= 0;
+        }
+    }
+
+    private final Navigator navigator;
+    private final ProductsPage productsPage = new ProductsPage();
+
+    public AppReset(Navigator navigator) {
+        this.navigator = navigator;
+    }
+
+    /**
+     * Resets to the target screen with at least the required cleanliness.
+     *
+     * @return the tier that succeeded
+     * @throws IllegalStateException if even the most thorough available tier fails
+     */
+    public Tier reset(Screen target, Cleanliness required) {
+        for (Tier tier : plan(required)) {
+            if (!isAvailable(tier)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            boolean reached = apply(tier, target) && verify(target, required);
+            long elapsedNanos = System.nanoTime() - start;
+            record(tier, elapsedNanos, reached);
+            if (reached) {
+                // The reset may have reordered or refilled lists; indexed scroll offsets are stale
+                ScrollIndex.clear();
+                LOG.info("Reset to {} ({}) via {} in {} ms", target, required, tier, elapsedNanos / 1_000_000);
+                return tier;
+            }
+            LOG.warn("Reset tier {} left the app in the wrong state after {} ms — escalating",
+                    tier, elapsedNanos / 1_000_000);
+        }
+        throw new IllegalStateException("No reset tier could reach " + target + " with cleanliness " + required);
+    }
+
+    /**
+     * Establishes a precondition: the target screen with exactly cartItems products in the cart.
+     * A cart count known from the {@link StateCache} is reused as is or topped up; otherwise the
+     * app is reset and the cart filled from empty. Any cart requirement implies at least
+     * {@code APP_STATE} cleanliness.
+     *
+     * @return how the precondition was established
+     */
+    public StateCache.Outcome prepare(Screen target, int cartItems, Cleanliness required) {
+        long start = System.nanoTime();
+        StateCache.Outcome outcome = reuse(target, cartItems, required);
+        if (outcome == null) {
+            StateCache.forget();
+            outcome = rebuild(target, cartItems, required);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        StateCache.record(outcome, elapsedNanos);
+        LOG.info("Precondition {} with {} cart item(s) — {} in {} ms", target, cartItems, outcome,
+                elapsedNanos / 1_000_000);
+        return outcome;
+    }
+
+    /**
+     * Whether {@link #prepare} can establish a precondition on the target screen.
+     */
+    public boolean canPrepare(Screen target) {
+        return navigator.canReach(target);
+    }
+
+    /**
+     * Serves the precondition from the cached cart count, or returns null if that is not possible.
+     */
+    private StateCache.Outcome reuse(Screen target, int cartItems, Cleanliness required) {
+        Integer known = StateCache.cartItems();
+        if (known == null || known > cartItems || required.compareTo(Cleanliness.APP_STATE) > 0) {
+            return null;
+        }
+        if (known == cartItems) {
+            return navigator.navigateTo(target, false) && verify(target, Cleanliness.SCREEN)
+                    ? StateCache.Outcome.HIT : null;
+        }
+        return fillCart(known, cartItems, target) ? StateCache.Outcome.EXTENDED : null;
+    }
+
+    private StateCache.Outcome rebuild(Screen target, int cartItems, Cleanliness required) {
+        if (cartItems == 0) {
+            Tier tier = reset(target, required);
+            if (required != Cleanliness.SCREEN) {
+                StateCache.remember(0);
+            }
+            return tier == Tier.NAVIGATE ? StateCache.Outcome.HIT : StateCache.Outcome.REBUILT;
+        }
+        Cleanliness clean = required.compareTo(Cleanliness.APP_STATE) < 0 ? Cleanliness.APP_STATE : required;
+        String snapshot = "cart-" + cartItems;
+        if (clean == Cleanliness.APP_STATE && AppDataSnapshots.isEnabled() && restore(snapshot, target, cartItems)) {
+            return StateCache.Outcome.RESTORED;
+        }
+        reset(Screen.PRODUCTS, clean);
+        if (!fillCart(0, cartItems, target)) {
+            throw new IllegalStateException("Could not build " + target + " with " + cartItems + " cart item(s)");
+        }
+        if (AppDataSnapshots.isEnabled()) {
+            BasePage.invalidateSnapshot();
+            AppDataSnapshots.capture(DriverManager.getDriver(), snapshot);
+            // Capturing restarts the app, which keeps the cart but not the screen
+            if (!navigator.navigateTo(Screen.PRODUCTS, false) || !navigator.navigateTo(target, false)) {
+                throw new IllegalStateException("Could not return to " + target + " after capturing " + snapshot);
+            }
+        }
+        return StateCache.Outcome.REBUILT;
+    }
+
+    /**
+     * Restores the cart from an app data snapshot and walks to the target, logging in if the
+     * restarted app asks for it. A snapshot that restores the wrong cart is discarded.
+     */
+    private boolean restore(String snapshot, Screen target, int cartItems) {
+        AndroidDriver driver = DriverManager.getDriver();
+        BasePage.invalidateSnapshot();
+        try {
+            if (!AppDataSnapshots.restore(driver, snapshot)) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("App data snapshot {} could not be restored — {}", snapshot, e.getMessage());
+            return false;
+        }
+        if (navigator.navigateTo(Screen.PRODUCTS, false)
+                && productsPage.getCartBadgeCount().equals(String.valueOf(cartItems))) {
+            StateCache.remember(cartItems);
+            return navigator.navigateTo(target, false);
+        }
+        AppDataSnapshots.discard(driver, snapshot);
+        return false;
+    }
+
+    /**
+     * Adds products on the products list until the cart holds cartItems, then walks to the target.
+     */
+    private boolean fillCart(int from, int cartItems, Screen target) {
+        if (!navigator.navigateTo(Screen.PRODUCTS, false)) {
+            return false;
+        }
+        productsPage.addMultipleProductsToCart(cartItems - from);
+        if (!productsPage.getCartBadgeCount().equals(String.valueOf(cartItems))) {
+            LOG.warn("Cart holds {} item(s) instead of {}", productsPage.getCartBadgeCount(), cartItems);
+            return false;
+        }
+        StateCache.remember(cartItems);
+        return navigator.navigateTo(target, false);
+    }
+
+    /**
+     * The order in which tiers are tried: the cheapest tier satisfying the requirement first,
+     * then every more thorough tier in escalation order.
+     */
+    public static List<Tier> plan(Cleanliness required) {
+        Tier first = null;
+        for (Tier tier : Tier.values()) {
+            if (tier.satisfies(required) && (first == null || estimatedCostMs(tier) < estimatedCostMs(first))) {
+                first = tier;
+            }
+        }
+        List<Tier> plan = new ArrayList<>();
+        plan.add(first);
+        for (Tier tier : Tier.values()) {
+            if (tier.compareTo(first) > 0) {
+                plan.add(tier);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * The tier's mean duration in this run so far, or its default before it has been used.
+     */
+    public static long estimatedCostMs(Tier tier) {
+        synchronized (TIMINGS) {
+            LatencyHistogram histogram = TIMINGS.get(tier);
+            return histogram == null || histogram.count() == 0 ? tier.defaultCostMs : histogram.mean().toMillis();
+        }
+    }
+
+    /**
+     * Records one attempt of a tier. Failed attempts count toward its cost too.
+     */
+    public static void record(Tier tier, long elapsedNanos, boolean succeeded) {
+        synchronized (TIMINGS) {
+            TIMINGS.computeIfAbsent(tier, t -> new LatencyHistogram()).recordNanos(elapsedNanos);
+            if (!succeeded) {
+                FAILURES.merge(tier, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Clears recorded timings, so estimates fall back to the defaults.
+     */
+    public static void resetTimings() {
+        synchronized (TIMINGS) {
+            TIMINGS.clear();
+            FAILURES.clear();
+        }
+    }
+
+    /**
+     * Writes per-tier attempt counts, failures and duration percentiles as JSON, plus how many
+     * preconditions were served from the {@link StateCache}.
+     */
+    public static void writeSuiteReport(Path file) {
+        Map<String, Object> tiers = new TreeMap<>();
+        synchronized (TIMINGS) {
+            TIMINGS.forEach((tier, histogram) -> {
+                Map<String, Object> entry = histogram.summary();
+                entry.put("escalations", FAILURES.getOrDefault(tier, 0));
+                tiers.put(tier.name(), entry);
+            });
+        }
+        if (tiers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("tiers", tiers);
+        report.put("preconditions", StateCache.summary());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            LOG.info("Reset timing report written: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.error("Failed to write reset timing report: {}", file, e);
+        }
+    }
+
+    private boolean apply(Tier tier, Screen target) {
+        try {
+            switch (tier) {
+                case NAVIGATE:
+                    return navigator.navigateTo(target, false);
+                case IN_APP:
+                    return navigator.navigateTo(target, true);
+                case CLEAR_DATA:
+                    restart(driver -> driver.executeScript("mobile: shell",
+                            Map.of("command", "pm", "args", List.of("clear", APP_PACKAGE))));
+                    break;
+                case REINSTALL:
+                    restart(driver -> {
+                        driver.removeApp(APP_PACKAGE);
+                        driver.installApp(appFile().getAbsolutePath());
+                    });
+                    break;
+                default:
+                    restart(driver -> { });
+                    break;
+            }
+            // A restarted app opens on the login screen
+            return target == Screen.LOGIN || navigator.navigateTo(target, false);
+        } catch (RuntimeException e) {
+            LOG.warn("Reset tier {} failed — {}", tier, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops the app, runs the tier's work while it is down, and starts it again.
+     */
+    private static void restart(Consumer<AndroidDriver> whileStopped) {
+        AndroidDriver driver = DriverManager.getDriver();
+        BasePage.invalidateSnapshot();
+        driver.terminateApp(APP_PACKAGE);
+        whileStopped.accept(driver);
+        driver.activateApp(APP_PACKAGE);
+    }
+
+    /**
+     * Checks the start screen is showing and, for a clean start on the products list, that the
+     * cart is empty.
+     */
+    private boolean verify(Screen target, Cleanliness required) {
+        BasePage.invalidateSnapshot();
+        if (!target.page().isPageLoaded()) {
+            return false;
+        }
+        return target != Screen.PRODUCTS || required == Cleanliness.SCREEN || productsPage.isCartEmpty();
+    }
+
+    private static boolean isAvailable(Tier tier) {
+        return tier != Tier.REINSTALL || appFile().isFile();
+    }
+
+    private static File appFile() {
+        File app = new File(ConfigReader.get("app.path", ""));
+        return app.isAbsolute() ? app : new File(System.getProperty("user.dir"), app.getPath());
+    }
+}
@@ -1,6 +1,8 @@
 package com.swaglabs.pages;
 
+import com.swaglabs.config.ConfigReader;
 import com.swaglabs.driver.DriverManager;
+import com.swaglabs.driver.ScreenGeometry;
 import com.swaglabs.utils.WaitHelper;
 
 import io.appium.java_client.AppiumBy;
@@ -8,20 +10,58 @@ import io.appium.java_client.android.AndroidDriver;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * BasePage provides common interaction methods shared across all page objects.
  * All page classes should extend this class to inherit reusable mobile actions.
+ *
+ * Multi-element checks can be answered from a {@link PageSnapshot}: one getPageSource()
+ * round-trip, cached per thread until the next mutating action (tap, type, swipe, scroll).
+ *
+ * Scrolls use the session's cached {@link ScreenGeometry} and one of two backends, chosen by
+ * 'scroll.backend': W3C pointer actions (default) or UiAutomator2's native mobile: scrollGesture.
+ * Scroll-to-element searches are bounded, stop at the end of the list and jump straight to
+ * offsets remembered in the screen's {@link ScrollIndex}.
  */
 public abstract class BasePage {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BasePage.class);
+
+    private static final ThreadLocal<CachedSnapshot> SNAPSHOT = new ThreadLocal<>();
+    private static final Duration SNAPSHOT_TIMEOUT = Duration.ofSeconds(5);
+    private static final long SNAPSHOT_POLL_MS = 250;
+    private static final Duration EXTRACT_TIMEOUT =
+            Duration.ofSeconds(ConfigReader.getInt("explicit.wait.seconds", 15));
+    private static final ScrollBackend SCROLL_BACKEND =
+            ScrollBackend.valueOf(ConfigReader.get("scroll.backend", "actions").trim().toUpperCase());
+    private static final int SCROLL_SPEED = ConfigReader.getInt("scroll.speed", 5000);
+    private static final Duration SWIPE_DURATION = Duration.ofMillis(ConfigReader.getInt("swipe.duration.ms", 600));
+    private static final int SCROLL_SEARCH_MAX_SWIPES = ConfigReader.getInt("scroll.search.max.swipes", 10);
+
+    /**
+     * How scrolls are sent to the device.
+     */
+    protected enum ScrollBackend {
+        /** W3C pointer actions: a touch swipe of 'swipe.duration.ms'. */
+        ACTIONS,
+        /** UiAutomator2 mobile: scrollGesture at 'scroll.speed' px/s, which also reports the end of the content. */
+        NATIVE
+    }
+
     /**
      * Returns the AndroidDriver instance.
      */
@@ -35,14 +75,24 @@ public abstract class BasePage {
      * Taps on the element identified by the locator after waiting for it to be clickable.
      */
     protected void tap(By locator) {
+        invalidateSnapshot();
         WaitHelper.waitForClickability(locator).click();
     }
 
+    /**
+     * Taps an element already looked up, e.g. one item of a list.
+     */
+    protected void tap(WebElement element) {
+        invalidateSnapshot();
+        element.click();
+    }
+
     /**
      * Types text into the element identified by the locator.
      * Clears existing text before typing.
      */
     protected void type(By locator, String text) {
+        invalidateSnapshot();
         WebElement element = WaitHelper.waitForVisibility(locator);
         element.clear();
         element.sendKeys(text);
@@ -73,6 +123,13 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Checks if an element exists right now, without waiting. Use for expected-absent checks.
+     */
+    protected boolean isPresentNow(By locator) {
+        return WaitHelper.isPresentNow(locator);
+    }
+
     /**
      * Finds an element by accessibility ID.
      */
@@ -101,65 +158,401 @@ public abstract class BasePage {
         return WaitHelper.waitForPresenceOfAll(locator);
     }
 
+    /**
+     * Finds all elements matching the locator, waiting up to the timeout for the first one.
+     * Returns an empty list instead of throwing when none appears.
+     */
+    protected List<WebElement> findAllOrNone(By locator, int timeoutSeconds) {
+        try {
+            return WaitHelper.waitForPresenceOfAll(locator, timeoutSeconds);
+        } catch (TimeoutException e) {
+            return List.of();
+        }
+    }
+
+    // ==================== Page Snapshot Methods ====================
+
+    /**
+     * Returns the cached snapshot of the current screen, fetching the page source if there is none.
+     */
+    protected PageSnapshot snapshot() {
+        CachedSnapshot cached = SNAPSHOT.get();
+        if (cached != null && cached.driver() == driver()) {
+            return cached.snapshot();
+        }
+        return refreshSnapshot();
+    }
+
+    /**
+     * Fetches the page source once and replaces the cached snapshot.
+     */
+    protected PageSnapshot refreshSnapshot() {
+        AndroidDriver driver = driver();
+        PageSnapshot snapshot = PageSnapshot.parse(driver.getPageSource());
+        SNAPSHOT.set(new CachedSnapshot(driver, snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Drops the current thread's snapshot. Called before every action that can change the screen.
+     */
+    public static void invalidateSnapshot() {
+        SNAPSHOT.remove();
+    }
+
+    /**
+     * Checks that every locator is displayed, answering all of them from one page source per poll
+     * instead of one wait per element. Waits up to 5 seconds, like {@link #isDisplayed(By)}.
+     * The cached snapshot answers first; otherwise {@link WaitHelper#allOf} polls fresh page sources.
+     * Locators a snapshot cannot evaluate are checked on the device.
+     */
+    protected boolean areDisplayed(By... locators) {
+        if (allDisplayed(snapshot(), locators)) {
+            return true;
+        }
+        invalidateSnapshot();
+        return WaitHelper.allOf(driver(), SNAPSHOT_TIMEOUT, locators);
+    }
+
+    /**
+     * Returns text, content-desc and bounds of every element matching the locator from a single
+     * page source, so a list of N items costs one round-trip instead of N+1.
+     * Waits up to the explicit timeout for at least one match, like {@link #findAll(By)}.
+     * Locators a snapshot cannot evaluate fall back to per-element queries.
+     */
+    protected List<PageSnapshot.Node> extractAll(By locator) {
+        if (!PageSnapshot.supports(locator)) {
+            return findAll(locator).stream().map(BasePage::toNode).toList();
+        }
+        PageSnapshot snapshot = waitForSnapshot(s -> !s.findAll(locator).isEmpty(), EXTRACT_TIMEOUT);
+        if (snapshot == null) {
+            throw new TimeoutException("No elements located by " + locator + " within " + EXTRACT_TIMEOUT.toSeconds() + "s");
+        }
+        return snapshot.findAll(locator);
+    }
+
+    /**
+     * Returns the text of every element matching the locator in one round-trip (empty text as "").
+     */
+    protected List<String> getAllTexts(By locator) {
+        return extractAll(locator).stream()
+                .map(node -> node.text() == null ? "" : node.text())
+                .toList();
+    }
+
+    /**
+     * Polls snapshots until the condition holds: the cached one first, then a fresh page source per poll.
+     * Returns the matching snapshot, or null on timeout.
+     */
+    protected PageSnapshot waitForSnapshot(Predicate<PageSnapshot> condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        PageSnapshot snapshot = snapshot();
+        while (true) {
+            if (condition.test(snapshot)) {
+                return snapshot;
+            }
+            if (System.nanoTime() >= deadline) {
+                return null;
+            }
+            WaitHelper.staticWait((int) SNAPSHOT_POLL_MS);
+            snapshot = refreshSnapshot();
+        }
+    }
+
+    private static PageSnapshot.Node toNode(WebElement element) {
+        Rectangle rect = element.getRect();
+        String bounds = "[" + rect.x + "," + rect.y + "][" + (rect.x + rect.width) + "," + (rect.y + rect.height) + "]";
+        return new PageSnapshot.Node(element.getAttribute("class"), element.getText(),
+                element.getAttribute("content-desc"), element.getAttribute("resource-id"), bounds,
+                element.isDisplayed(), element.isEnabled(), false, element.isSelected(), 0);
+    }
+
+    private boolean allDisplayed(PageSnapshot snapshot, By... locators) {
+        for (By locator : locators) {
+            boolean displayed = PageSnapshot.supports(locator)
+                    ? snapshot.isDisplayed(locator)
+                    : isDisplayed(locator);
+            if (!displayed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A snapshot together with the driver it was taken from, so a new session never sees a stale screen.
+     */
+    private record CachedSnapshot(AndroidDriver driver, PageSnapshot snapshot) {
+    }
+
     // ==================== Scroll & Swipe Methods ====================
 
     /**
-     * Scrolls down the screen by performing a swipe gesture.
+     * Scrolls down the screen by 40% of its height.
      */
     protected void scrollDown() {
-        Dimension size = driver().manage().window().getSize();
-        int startX = size.width / 2;
-        int startY = (int) (size.height * 0.7);
-        int endY = (int) (size.height * 0.3);
-        swipe(startX, startY, startX, endY);
+        scroll("down");
     }
 
     /**
-     * Scrolls up the screen by performing a swipe gesture.
+     * Scrolls up the screen by 40% of its height.
      */
     protected void scrollUp() {
-        Dimension size = driver().manage().window().getSize();
-        int startX = size.width / 2;
-        int startY = (int) (size.height * 0.3);
-        int endY = (int) (size.height * 0.7);
-        swipe(startX, startY, startX, endY);
+        scroll("up");
+    }
+
+    /**
+     * Scrolls the middle of the screen by 40% of its height in the given direction ("down" reveals
+     * content below). Returns false only when the native backend reports there is nothing more to
+     * scroll; the actions backend cannot tell and always returns true.
+     */
+    protected boolean scroll(String direction) {
+        invalidateSnapshot();
+        Dimension size = ScreenGeometry.size(driver());
+        int top = (int) (size.height * 0.3);
+        int bottom = (int) (size.height * 0.7);
+
+        if (scrollBackend() == ScrollBackend.NATIVE) {
+            Object canScrollMore = driver().executeScript("mobile: scrollGesture", Map.of(
+                    "left", size.width / 4, "top", top,
+                    "width", size.width / 2, "height", bottom - top,
+                    "direction", direction, "percent", 1.0, "speed", SCROLL_SPEED));
+            return !Boolean.FALSE.equals(canScrollMore);
+        }
+        int x = size.width / 2;
+        if ("down".equals(direction)) {
+            swipe(x, bottom, x, top);
+        } else {
+            swipe(x, top, x, bottom);
+        }
+        return true;
+    }
+
+    /**
+     * The scroll backend configured by 'scroll.backend'.
+     */
+    protected ScrollBackend scrollBackend() {
+        return SCROLL_BACKEND;
     }
 
     /**
-     * Performs a swipe from one point to another using W3C Actions.
+     * Performs a swipe from one point to another using W3C Actions, taking 'swipe.duration.ms'.
      */
     protected void swipe(int startX, int startY, int endX, int endY) {
+        invalidateSnapshot();
         PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
         Sequence swipeAction = new Sequence(finger, 1);
 
         swipeAction.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
         swipeAction.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        swipeAction.addAction(finger.createPointerMove(Duration.ofMillis(600), PointerInput.Origin.viewport(), endX, endY));
+        swipeAction.addAction(finger.createPointerMove(SWIPE_DURATION, PointerInput.Origin.viewport(), endX, endY));
         swipeAction.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
 
         driver().perform(Collections.singletonList(swipeAction));
     }
 
     /**
-     * Scrolls down until the element with the given text is visible (UiScrollable).
+     * Scrolls down until the element with the given text is visible, within 'scroll.search.max.swipes'.
+     *
+     * @throws NoSuchElementException if it is not found before the swipe budget or the list runs out
      */
     protected WebElement scrollToText(String text) {
-        return driver().findElement(AppiumBy.androidUIAutomator(
-                "new UiScrollable(new UiSelector().scrollable(true))" +
-                        ".scrollIntoView(new UiSelector().text(\"" + text + "\"))"));
+        return scrollToText(text, SCROLL_SEARCH_MAX_SWIPES, "down");
     }
 
     /**
-     * Scrolls down until an element with the given description is visible.
+     * Scrolls in the given direction ("down" or "up") until the element with the text is visible.
+     */
+    protected WebElement scrollToText(String text, int maxSwipes, String direction) {
+        scrollSearch("text", text, maxSwipes, direction);
+        return WaitHelper.waitForVisibility(driver(), By.xpath("//*[@text=" + xpathLiteral(text) + "]"));
+    }
+
+    /**
+     * Scrolls down until an element with the given description is visible, within 'scroll.search.max.swipes'.
+     *
+     * @throws NoSuchElementException if it is not found before the swipe budget or the list runs out
      */
     protected WebElement scrollToDescription(String description) {
-        return driver().findElement(AppiumBy.androidUIAutomator(
-                "new UiScrollable(new UiSelector().scrollable(true))" +
-                        ".scrollIntoView(new UiSelector().description(\"" + description + "\"))"));
+        return scrollToDescription(description, SCROLL_SEARCH_MAX_SWIPES, "down");
+    }
+
+    /**
+     * Scrolls in the given direction ("down" or "up") until an element with the description is visible.
+     */
+    protected WebElement scrollToDescription(String description, int maxSwipes, String direction) {
+        scrollSearch("content-desc", description, maxSwipes, direction);
+        return WaitHelper.waitForVisibility(driver(), AppiumBy.accessibilityId(description));
+    }
+
+    /**
+     * Scrolls until a displayed node with the attribute value is on screen and returns it.
+     *
+     * Every step is judged from one page snapshot. If the screen's {@link ScrollIndex} has seen the
+     * item before, the search first jumps straight to that offset without looking in between. The
+     * search then scrolls in the given direction for up to maxSwipes, and stops early when a scroll
+     * leaves the hierarchy unchanged (or the native backend reports nothing more to scroll). If it
+     * reached that end of the list without a hit, the item may lie behind the starting point, so —
+     * like UiScrollable.scrollIntoView — it sweeps back the other way until the other end.
+     *
+     * @param attribute "text" or "content-desc"
+     * @param direction "down" or "up"
+     * @throws NoSuchElementException if no such node is found
+     */
+    protected PageSnapshot.Node scrollSearch(String attribute, String value, int maxSwipes, String direction) {
+        ScrollIndex index = ScrollIndex.forScreen(screenKey());
+        String opposite = "up".equals(direction) ? "down" : "up";
+
+        PageSnapshot snapshot = snapshot();
+        Integer position = located(index, snapshot);
+        PageSnapshot.Node hit = displayed(snapshot, attribute, value);
+        int swipes = 0;
+
+        Integer known = index.offsetOf(attribute, value);
+        if (hit == null && known != null && position != null && known.intValue() != position) {
+            int jump = known - position;
+            for (int i = 0; i < Math.abs(jump); i++) {
+                scroll(jump > 0 ? "down" : "up");
+            }
+            swipes += Math.abs(jump);
+            snapshot = refreshSnapshot();
+            position = located(index, snapshot);
+            hit = displayed(snapshot, attribute, value);
+        }
+
+        Sweep sweep = new Sweep(snapshot, position, hit, false, 0);
+        if (hit == null) {
+            sweep = sweep(index, attribute, value, sweep, direction, maxSwipes);
+            swipes += sweep.swipes();
+        }
+        boolean bothEnds = false;
+        if (sweep.hit() == null && sweep.endReached()) {
+            // Back past the starting point, then as far again as the budget allows
+            sweep = sweep(index, attribute, value, sweep, opposite, swipes + maxSwipes);
+            swipes += sweep.swipes();
+            bothEnds = sweep.endReached();
+        }
+
+        if (sweep.hit() == null) {
+            throw new NoSuchElementException(String.format("No element with %s '%s' after %d swipe(s)%s",
+                    attribute, value, swipes, bothEnds ? " — both ends of the list reached"
+                            : sweep.endReached() ? " — end of list reached" : ""));
+        }
+        LOG.debug("Scroll search — found {} '{}' after {} swipe(s)", attribute, value, swipes);
+        return sweep.hit();
+    }
+
+    /**
+     * Scrolls one way until the target is displayed, the list ends, or the swipe budget is spent,
+     * indexing every screen on the way. Reaching the top re-bases the index there, so offsets
+     * recorded from a start in mid-list are corrected.
+     */
+    private Sweep sweep(ScrollIndex index, String attribute, String value, Sweep from, String direction, int maxSwipes) {
+        int step = "up".equals(direction) ? -1 : 1;
+        PageSnapshot snapshot = from.snapshot();
+        Integer position = from.position();
+        int swipes = 0;
+        while (swipes < maxSwipes) {
+            boolean canScrollMore = scroll(direction);
+            swipes++;
+            PageSnapshot previous = snapshot;
+            snapshot = refreshSnapshot();
+            if (!canScrollMore || snapshot.nodes().equals(previous.nodes())) {
+                if (step < 0 && (position == null || position != 0)) {
+                    index.reset();
+                    index.record(snapshot, 0);
+                    position = 0;
+                }
+                return new Sweep(snapshot, position, displayed(snapshot, attribute, value), true, swipes);
+            }
+            position = position == null ? located(index, snapshot) : Integer.valueOf(position + step);
+            if (position != null) {
+                index.record(snapshot, position);
+            }
+            PageSnapshot.Node hit = displayed(snapshot, attribute, value);
+            if (hit != null) {
+                return new Sweep(snapshot, position, hit, false, swipes);
+            }
+        }
+        return new Sweep(snapshot, position, null, false, swipes);
+    }
+
+    /**
+     * Where a scroll sweep left off, and how many swipes it took.
+     */
+    private record Sweep(PageSnapshot snapshot, Integer position, PageSnapshot.Node hit, boolean endReached, int swipes) {
+    }
+
+    /**
+     * Key of this screen in the {@link ScrollIndex}: page class, screen size and session, so
+     * offsets are never reused across orientations or carried into a new session.
+     */
+    protected String screenKey() {
+        Dimension size = ScreenGeometry.size(driver());
+        return getClass().getName() + "@" + size.width + "x" + size.height + "#" + driver().getSessionId();
+    }
+
+    /**
+     * Drops this screen's scroll offsets, e.g. before its list is re-sorted.
+     */
+    protected void forgetScrollOffsets() {
+        ScrollIndex.forScreen(screenKey()).reset();
+    }
+
+    /**
+     * Locates the snapshot in the index and records it. An empty index starts at offset 0.
+     */
+    private static Integer located(ScrollIndex index, PageSnapshot snapshot) {
+        Integer position = index.size() == 0 ? Integer.valueOf(0) : index.locate(snapshot);
+        if (position != null) {
+            index.record(snapshot, position);
+        }
+        return position;
+    }
+
+    private static PageSnapshot.Node displayed(PageSnapshot snapshot, String attribute, String value) {
+        for (PageSnapshot.Node node : snapshot.nodes()) {
+            String actual = "text".equals(attribute) ? node.text() : node.contentDesc();
+            if (node.displayed() && value.equals(actual)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quotes a value as an XPath 1.0 string literal. A value with both quote kinds is split into
+     * single-quoted parts joined by concat().
+     */
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        StringBuilder concat = new StringBuilder("concat(");
+        String[] parts = value.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                concat.append(", \"'\", ");
+            }
+            concat.append('\'').append(parts[i]).append('\'');
+        }
+        return concat.append(')').toString();
     }
 
     // ==================== Utility Methods ====================
 
+    /**
+     * Locators that together identify this screen, used by {@link ScreenClassifier} to tell which
+     * page is showing from one page source. Use locators a {@link PageSnapshot} can answer.
+     * Empty means the page is never classified.
+     */
+    protected List<By> fingerprint() {
+        return List.of();
+    }
+
     /**
      * Waits for the page to be fully loaded. Override in subclasses to define
      * page-specific load conditions.
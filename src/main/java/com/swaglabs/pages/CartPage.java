@@ -39,15 +39,14 @@ public class CartPage extends BasePage {
 
     @Step("Get all item titles in cart")
     public List<String> getCartItemTitles() {
-        List<WebElement> titles = findAll(ITEM_TITLE);
-        return titles.stream().map(WebElement::getText).toList();
+        return getAllTexts(ITEM_TITLE);
     }
 
     @Step("Remove item at index: {index}")
     public CartPage removeItemAtIndex(int index) {
         List<WebElement> removeButtons = findAll(REMOVE_BUTTON);
         if (index >= 0 && index < removeButtons.size()) {
-            removeButtons.get(index).click();
+            tap(removeButtons.get(index));
         }
         return this;
     }
@@ -65,11 +64,12 @@ public class CartPage extends BasePage {
 
     @Step("Check if cart has items")
     public boolean hasItems() {
-        try {
-            return !driver().findElements(CART_ITEMS).isEmpty();
-        } catch (Exception e) {
-            return false;
-        }
+        return !findAllOrNone(CART_ITEMS, 5).isEmpty();
+    }
+
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(CART_HEADER, CHECKOUT_BUTTON, CONTINUE_SHOPPING);
     }
 
     @Override
@@ -5,6 +5,8 @@ import io.qameta.allure.Step;
 
 import org.openqa.selenium.By;
 
+import java.util.List;
+
 /**
  * CheckoutCompletePage represents the Swag Labs order confirmation screen.
  * Displays the order completion message after a successful checkout.
@@ -43,7 +45,7 @@ public class CheckoutCompletePage extends BasePage {
 
     @Step("Verify order completion page elements are displayed")
     public boolean isOrderCompletionValid() {
-        return isDisplayed(COMPLETE_CONTAINER) && isDisplayed(BACK_HOME_BUTTON);
+        return areDisplayed(COMPLETE_CONTAINER, BACK_HOME_BUTTON);
     }
 
     @Step("Verify pony express image is displayed")
@@ -56,6 +58,11 @@ public class CheckoutCompletePage extends BasePage {
         tap(BACK_HOME_BUTTON);
     }
 
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(COMPLETE_CONTAINER, BACK_HOME_BUTTON);
+    }
+
     @Override
     public boolean isPageLoaded() {
         return isDisplayed(COMPLETE_CONTAINER);
@@ -5,6 +5,8 @@ import io.qameta.allure.Step;
 
 import org.openqa.selenium.By;
 
+import java.util.List;
+
 /**
  * CheckoutInfoPage represents the Swag Labs checkout information screen.
  * Users enter first name, last name, and zip/postal code here.
@@ -74,6 +76,11 @@ public class CheckoutInfoPage extends BasePage {
         return isDisplayed(ERROR_MESSAGE);
     }
 
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(FIRST_NAME_FIELD, LAST_NAME_FIELD, ZIP_CODE_FIELD, CONTINUE_BUTTON);
+    }
+
     @Override
     public boolean isPageLoaded() {
         return isDisplayed(FIRST_NAME_FIELD);
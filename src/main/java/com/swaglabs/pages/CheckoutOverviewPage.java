@@ -41,7 +41,7 @@ public class CheckoutOverviewPage extends BasePage {
 
     @Step("Get order item titles")
     public List<String> getOrderItemTitles() {
-        return findAll(ITEM_TITLE).stream().map(WebElement::getText).toList();
+        return getAllTexts(ITEM_TITLE);
     }
 
     @Step("Get payment information")
@@ -83,6 +83,11 @@ public class CheckoutOverviewPage extends BasePage {
         tap(CANCEL_BUTTON);
     }
 
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(OVERVIEW_HEADER, FINISH_BUTTON, PAYMENT_INFO, SHIPPING_INFO);
+    }
+
     @Override
     public boolean isPageLoaded() {
         return isDisplayed(OVERVIEW_HEADER);
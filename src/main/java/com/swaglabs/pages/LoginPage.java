@@ -5,6 +5,8 @@ import io.qameta.allure.Step;
 
 import org.openqa.selenium.By;
 
+import java.util.List;
+
 /**
  * LoginPage represents the Swag Labs login screen.
  * Provides methods to interact with username, password fields and login button.
@@ -64,8 +66,13 @@ public class LoginPage extends BasePage {
         return isDisplayed(ERROR_MESSAGE);
     }
 
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(USERNAME_FIELD, PASSWORD_FIELD, LOGIN_BUTTON);
+    }
+
     @Override
     public boolean isPageLoaded() {
-        return isDisplayed(USERNAME_FIELD) && isDisplayed(LOGIN_BUTTON);
+        return areDisplayed(USERNAME_FIELD, LOGIN_BUTTON);
     }
 }
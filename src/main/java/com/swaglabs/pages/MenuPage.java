@@ -1,5 +1,7 @@
 package com.swaglabs.pages;
 
+import com.swaglabs.utils.WaitHelper;
+
 import io.appium.java_client.AppiumBy;
 import io.qameta.allure.Step;
 
@@ -35,8 +37,8 @@ public class MenuPage extends BasePage {
     @Step("Open side menu")
     public MenuPage openMenu() {
         tap(MENU_BUTTON);
-        // Allow slide-in animation to finish
-        try { Thread.sleep(1000); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+        // Slide-in animation is done once the first option stops moving
+        WaitHelper.waitForSettle(ALL_ITEMS_OPTION);
         return this;
     }
 
@@ -46,6 +48,7 @@ public class MenuPage extends BasePage {
             tap(CLOSE_MENU_BUTTON);
         } catch (Exception e) {
             // Fallback: Android back button reliably dismisses the side menu
+            invalidateSnapshot();
             driver().navigate().back();
         }
     }
@@ -77,11 +80,7 @@ public class MenuPage extends BasePage {
 
     @Step("Validate all menu options are displayed")
     public boolean areAllMenuOptionsDisplayed() {
-        return isAllItemsDisplayed()
-                && isWebViewDisplayed()
-                && isAboutDisplayed()
-                && isLogoutDisplayed()
-                && isResetAppStateDisplayed();
+        return areDisplayed(ALL_ITEMS_OPTION, WEBVIEW_OPTION, ABOUT_OPTION, LOGOUT_OPTION, RESET_APP_OPTION);
     }
 
     @Step("Tap 'All Items' option")
@@ -109,6 +108,11 @@ public class MenuPage extends BasePage {
         tap(RESET_APP_OPTION);
     }
 
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(CLOSE_MENU_BUTTON, ALL_ITEMS_OPTION, WEBVIEW_OPTION, ABOUT_OPTION, LOGOUT_OPTION, RESET_APP_OPTION);
+    }
+
     @Override
     public boolean isPageLoaded() {
         return isDisplayed(ALL_ITEMS_OPTION);
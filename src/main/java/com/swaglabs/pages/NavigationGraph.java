@@ -0,0 +1,149 @@
+package com.swaglabs.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * NavigationGraph models how the app's screens connect through existing page-object actions.
+ *
+ * Nodes are {@link Screen}s, edges are single actions (tapCartIcon, tapCancel, tapBackHome,
+ * openMenu, tapAllItems, ...) weighted by their typical cost in milliseconds. Paths are planned
+ * with Dijkstra, so a test can be brought to its start screen by the cheapest sequence of taps
+ * instead of restarting the app and logging in again.
+ *
+ * The in-app "Reset App State" is modelled separately as {@link #resetEdge()}: a path that must
+ * leave the app's data clean is routed through the menu and that reset.
+ */
+public final class NavigationGraph {
+
+    private final Map<Screen, List<Edge>> edges = new EnumMap<>(Screen.class);
+    private final Edge reset;
+
+    private NavigationGraph(Edge reset) {
+        this.reset = reset;
+    }
+
+    /**
+     * The Swag Labs graph over the standard page objects. Logging in uses the given credentials.
+     */
+    public static NavigationGraph standard(String username, String password) {
+        LoginPage loginPage = new LoginPage();
+        ProductsPage productsPage = new ProductsPage();
+        CartPage cartPage = new CartPage();
+        CheckoutInfoPage checkoutInfoPage = new CheckoutInfoPage();
+        CheckoutOverviewPage checkoutOverviewPage = new CheckoutOverviewPage();
+        CheckoutCompletePage checkoutCompletePage = new CheckoutCompletePage();
+        MenuPage menuPage = new MenuPage();
+
+        NavigationGraph graph = new NavigationGraph(
+                new Edge(Screen.MENU, Screen.MENU, "tapResetAppState", 800, menuPage::tapResetAppState));
+        graph.add(Screen.LOGIN, Screen.PRODUCTS, "login", 3000, () -> loginPage.login(username, password));
+        graph.add(Screen.PRODUCTS, Screen.CART, "tapCartIcon", 800, productsPage::tapCartIcon);
+        graph.add(Screen.CART, Screen.PRODUCTS, "tapContinueShopping", 800, cartPage::tapContinueShopping);
+        graph.add(Screen.CART, Screen.CHECKOUT_INFO, "tapCheckout", 1200, cartPage::tapCheckout);
+        graph.add(Screen.CHECKOUT_INFO, Screen.CART, "tapCancel", 800, checkoutInfoPage::tapCancel);
+        graph.add(Screen.CHECKOUT_OVERVIEW, Screen.PRODUCTS, "tapCancel", 1200, checkoutOverviewPage::tapCancel);
+        graph.add(Screen.CHECKOUT_COMPLETE, Screen.PRODUCTS, "tapBackHome", 800, checkoutCompletePage::tapBackHome);
+        // The header with the menu button is shared by every screen after login
+        for (Screen screen : List.of(Screen.PRODUCTS, Screen.CART, Screen.CHECKOUT_INFO,
+                Screen.CHECKOUT_OVERVIEW, Screen.CHECKOUT_COMPLETE)) {
+            graph.add(screen, Screen.MENU, "openMenu", 1500, menuPage::openMenu);
+        }
+        graph.add(Screen.MENU, Screen.PRODUCTS, "tapAllItems", 800, menuPage::tapAllItems);
+        graph.add(Screen.MENU, Screen.LOGIN, "tapLogout", 800, menuPage::tapLogout);
+        return graph;
+    }
+
+    private void add(Screen from, Screen to, String name, int cost, Runnable action) {
+        edges.computeIfAbsent(from, screen -> new ArrayList<>()).add(new Edge(from, to, name, cost, action));
+    }
+
+    /**
+     * The in-app "Reset App State" action, available while the menu is open.
+     */
+    public Edge resetEdge() {
+        return reset;
+    }
+
+    /**
+     * Returns the cheapest sequence of actions from one screen to another (empty if already there),
+     * or null if the target cannot be reached, e.g. from {@link Screen#UNKNOWN}.
+     */
+    public List<Edge> shortestPath(Screen from, Screen to) {
+        if (from == to) {
+            return List.of();
+        }
+        Map<Screen, Integer> cost = new EnumMap<>(Screen.class);
+        Map<Screen, Edge> via = new EnumMap<>(Screen.class);
+        PriorityQueue<Map.Entry<Screen, Integer>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+        cost.put(from, 0);
+        queue.add(Map.entry(from, 0));
+
+        while (!queue.isEmpty()) {
+            Map.Entry<Screen, Integer> next = queue.poll();
+            Screen screen = next.getKey();
+            if (next.getValue() > cost.get(screen)) {
+                continue;
+            }
+            if (screen == to) {
+                break;
+            }
+            for (Edge edge : edges.getOrDefault(screen, List.of())) {
+                int candidate = next.getValue() + edge.cost();
+                if (candidate < cost.getOrDefault(edge.to(), Integer.MAX_VALUE)) {
+                    cost.put(edge.to(), candidate);
+                    via.put(edge.to(), edge);
+                    queue.add(Map.entry(edge.to(), candidate));
+                }
+            }
+        }
+
+        if (!via.containsKey(to)) {
+            return null;
+        }
+        LinkedList<Edge> path = new LinkedList<>();
+        for (Screen screen = to; screen != from; screen = via.get(screen).from()) {
+            path.addFirst(via.get(screen));
+        }
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * Like {@link #shortestPath(Screen, Screen)}, but routed through the menu's "Reset App State"
+     * so the target is reached with the app's data (cart, sort order) cleared.
+     */
+    public List<Edge> shortestCleanPath(Screen from, Screen to) {
+        List<Edge> toMenu = shortestPath(from, Screen.MENU);
+        List<Edge> fromMenu = shortestPath(Screen.MENU, to);
+        if (toMenu == null || fromMenu == null) {
+            return null;
+        }
+        List<Edge> path = new ArrayList<>(toMenu);
+        path.add(reset);
+        path.addAll(fromMenu);
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * Total estimated cost of a path in milliseconds.
+     */
+    public static int cost(List<Edge> path) {
+        return path.stream().mapToInt(Edge::cost).sum();
+    }
+
+    /**
+     * One page-object action that moves the app from one screen to another.
+     */
+    public record Edge(Screen from, Screen to, String name, int cost, Runnable action) {
+
+        @Override
+        public String toString() {
+            return from + " -" + name + "-> " + to;
+        }
+    }
+}
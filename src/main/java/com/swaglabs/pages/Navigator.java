@@ -0,0 +1,93 @@
+package com.swaglabs.pages;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Navigator brings the app to a required screen by walking the {@link NavigationGraph}.
+ *
+ * The current screen is classified from one page source, the cheapest path is planned, and each
+ * step is verified on arrival. A step that lands somewhere unexpected triggers a re-plan from
+ * wherever the app actually is, up to navigation.max.replans times. When the screen cannot be
+ * classified or no path exists, {@link #navigateTo} returns false and the caller falls back to a
+ * hard reset.
+ */
+public class Navigator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Navigator.class);
+    private static final int MAX_REPLANS = ConfigReader.getInt("navigation.max.replans", 2);
+
+    private final NavigationGraph graph;
+
+    public Navigator(NavigationGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Navigates to the target screen, through the in-app "Reset App State" when cleanState is set.
+     *
+     * @return true once the target screen is verified, false if no path could be found or followed
+     */
+    public boolean navigateTo(Screen target, boolean cleanState) {
+        long start = System.nanoTime();
+        for (int attempt = 0; attempt <= MAX_REPLANS; attempt++) {
+            Screen current = currentScreen();
+            List<NavigationGraph.Edge> path = cleanState
+                    ? graph.shortestCleanPath(current, target)
+                    : graph.shortestPath(current, target);
+            if (path == null) {
+                LOG.info("No path from {} to {} — hard reset needed", current, target);
+                return false;
+            }
+            LOG.info("Navigating {} → {}{} — {} step(s), ~{} ms planned", current, target,
+                    cleanState ? " (clean)" : "", path.size(), NavigationGraph.cost(path));
+            if (follow(path)) {
+                LOG.info("Reached {} in {} ms", target, (System.nanoTime() - start) / 1_000_000);
+                return true;
+            }
+        }
+        LOG.warn("Could not reach {} after {} re-plan(s) — hard reset needed", target, MAX_REPLANS);
+        return false;
+    }
+
+    /**
+     * Whether the target can be reached by navigation at all once the app is reset to the login
+     * screen — screens only a form submission leads to, like the checkout overview, cannot.
+     */
+    public boolean canReach(Screen target) {
+        return graph.shortestPath(Screen.LOGIN, target) != null;
+    }
+
+    /**
+     * Classifies the screen currently showing; UNKNOWN when it cannot be told.
+     */
+    protected Screen currentScreen() {
+        BasePage.invalidateSnapshot();
+        ScreenClassifier.Classification classification = ScreenClassifier.classifyCurrent();
+        return classification == null ? Screen.UNKNOWN : classification.screen();
+    }
+
+    /**
+     * Runs each step and checks that it landed on the expected screen.
+     */
+    private boolean follow(List<NavigationGraph.Edge> path) {
+        for (NavigationGraph.Edge edge : path) {
+            try {
+                edge.action().run();
+            } catch (RuntimeException e) {
+                LOG.warn("Step {} failed — {}", edge, e.getMessage());
+                return false;
+            }
+            BasePage.invalidateSnapshot();
+            if (!edge.to().page().isPageLoaded()) {
+                LOG.warn("Step {} did not land on {} — re-planning", edge, edge.to());
+                return false;
+            }
+        }
+        return true;
+    }
+}
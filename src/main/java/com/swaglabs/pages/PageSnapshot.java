@@ -0,0 +1,298 @@
+package com.swaglabs.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PageSnapshot is an in-memory index of one UiAutomator2 page source.
+ *
+ * The XML is stream-parsed (StAX, no DOM) into a flat list of nodes indexed by content-desc,
+ * text, resource-id and class, so any number of presence and text checks can be answered
+ * locally from a single getPageSource() round-trip.
+ *
+ * Locators it can answer: accessibility id, id, class name and single-step XPath of the form
+ * {@code //class[@attr='value']} on text, content-desc or resource-id. Anything else reports
+ * {@link #supports(By)} == false and must be queried on the device.
+ */
+public final class PageSnapshot {
+
+    private static final Pattern SIMPLE_XPATH =
+            Pattern.compile("//([\\w.]+|\\*)\\[@(text|content-desc|resource-id)=(?:'([^']*)'|\"([^\"]*)\")]");
+
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    private static final XMLInputFactory XML_FACTORY = newXmlFactory();
+
+    private final List<Node> nodes;
+    private final Map<String, List<Node>> byContentDesc = new HashMap<>();
+    private final Map<String, List<Node>> byText = new HashMap<>();
+    private final Map<String, List<Node>> byResourceId = new HashMap<>();
+    private final Map<String, List<Node>> byClass = new HashMap<>();
+
+    private PageSnapshot(List<Node> nodes) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        for (Node node : nodes) {
+            index(byContentDesc, node.contentDesc(), node);
+            index(byText, node.text(), node);
+            index(byResourceId, node.resourceId(), node);
+            index(byClass, node.className(), node);
+        }
+    }
+
+    /**
+     * Parses a UiAutomator2 page source into a snapshot.
+     */
+    public static PageSnapshot parse(String pageSource) {
+        List<Node> nodes = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_FACTORY.createXMLStreamReader(new StringReader(pageSource));
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (!"hierarchy".equals(reader.getLocalName())) {
+                        nodes.add(readNode(reader, depth));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Unable to parse page source: " + e.getMessage(), e);
+        } finally {
+            close(reader);
+        }
+        return new PageSnapshot(nodes);
+    }
+
+    /**
+     * Returns true if the locator can be evaluated against the snapshot.
+     */
+    public static boolean supports(By locator) {
+        return Query.of(locator) != null;
+    }
+
+    /**
+     * Returns every node matching the locator, in document order.
+     *
+     * @throws IllegalArgumentException if the locator is not {@link #supports(By) supported}
+     */
+    public List<Node> findAll(By locator) {
+        Query query = Query.of(locator);
+        if (query == null) {
+            throw new IllegalArgumentException("Locator cannot be answered from a page snapshot: " + locator);
+        }
+        List<Node> candidates = switch (query.attribute()) {
+            case "content-desc" -> byContentDesc.getOrDefault(query.value(), List.of());
+            case "text" -> byText.getOrDefault(query.value(), List.of());
+            case "resource-id" -> findByResourceId(query.value());
+            default -> byClass.getOrDefault(query.value(), List.of());
+        };
+        if (query.className() == null) {
+            return candidates;
+        }
+        List<Node> matches = new ArrayList<>();
+        for (Node node : candidates) {
+            if (query.className().equals(node.className())) {
+                matches.add(node);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the first node matching the locator, or null.
+     */
+    public Node find(By locator) {
+        List<Node> matches = findAll(locator);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * Returns true if at least one displayed node matches the locator.
+     */
+    public boolean isDisplayed(By locator) {
+        for (Node node : findAll(locator)) {
+            if (node.displayed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if a node with exactly this text exists.
+     */
+    public boolean hasText(String text) {
+        return byText.containsKey(text);
+    }
+
+    /**
+     * Returns true if a node with exactly this content-desc exists.
+     */
+    public boolean hasContentDesc(String contentDesc) {
+        return byContentDesc.containsKey(contentDesc);
+    }
+
+    /**
+     * Returns every node in document order.
+     */
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * UiAutomator2 accepts ids without the package prefix, so "username" also matches "pkg:id/username".
+     */
+    private List<Node> findByResourceId(String id) {
+        List<Node> exact = byResourceId.get(id);
+        if (exact != null || id.contains(":")) {
+            return exact == null ? List.of() : exact;
+        }
+        List<Node> matches = new ArrayList<>();
+        byResourceId.forEach((key, value) -> {
+            if (key.endsWith(":id/" + id)) {
+                matches.addAll(value);
+            }
+        });
+        return matches;
+    }
+
+    private static Node readNode(XMLStreamReader reader, int depth) {
+        String className = null;
+        String text = null;
+        String contentDesc = null;
+        String resourceId = null;
+        String bounds = null;
+        boolean displayed = true;
+        boolean enabled = true;
+        boolean checked = false;
+        boolean selected = false;
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            switch (reader.getAttributeLocalName(i)) {
+                case "class" -> className = value;
+                case "text" -> text = value;
+                case "content-desc" -> contentDesc = value;
+                case "resource-id" -> resourceId = value;
+                case "bounds" -> bounds = value;
+                case "displayed" -> displayed = Boolean.parseBoolean(value);
+                case "enabled" -> enabled = Boolean.parseBoolean(value);
+                case "checked" -> checked = Boolean.parseBoolean(value);
+                case "selected" -> selected = Boolean.parseBoolean(value);
+                default -> {
+                    // Other UiAutomator attributes are not indexed
+                }
+            }
+        }
+        if (className == null) {
+            className = reader.getLocalName();
+        }
+        return new Node(className, emptyToNull(text), emptyToNull(contentDesc), emptyToNull(resourceId),
+                bounds, displayed, enabled, checked, selected, depth);
+    }
+
+    private static void index(Map<String, List<Node>> index, String key, Node node) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(node);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // Nothing left to release for an in-memory source
+            }
+        }
+    }
+
+    private static XMLInputFactory newXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * One UiAutomator element. Empty attributes are stored as null.
+     */
+    public record Node(String className, String text, String contentDesc, String resourceId, String bounds,
+                       boolean displayed, boolean enabled, boolean checked, boolean selected, int depth) {
+
+        /**
+         * Parses the UiAutomator bounds "[x1,y1][x2,y2]" into a rectangle, or null if absent.
+         */
+        public Rectangle rect() {
+            if (bounds == null) {
+                return null;
+            }
+            Matcher matcher = BOUNDS.matcher(bounds);
+            if (!matcher.matches()) {
+                return null;
+            }
+            int x1 = Integer.parseInt(matcher.group(1));
+            int y1 = Integer.parseInt(matcher.group(2));
+            int x2 = Integer.parseInt(matcher.group(3));
+            int y2 = Integer.parseInt(matcher.group(4));
+            return new Rectangle(x1, y1, y2 - y1, x2 - x1);
+        }
+    }
+
+    /**
+     * A locator translated to a single indexed attribute lookup, optionally narrowed by class.
+     */
+    private record Query(String attribute, String value, String className) {
+
+        static Query of(By locator) {
+            if (!(locator instanceof By.Remotable remotable)) {
+                return null;
+            }
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            return switch (parameters.using()) {
+                case "accessibility id" -> new Query("content-desc", value, null);
+                case "id" -> new Query("resource-id", value, null);
+                case "class name" -> new Query("class", value, null);
+                case "xpath" -> fromXpath(value);
+                default -> null;
+            };
+        }
+
+        private static Query fromXpath(String xpath) {
+            Matcher matcher = SIMPLE_XPATH.matcher(xpath.trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+            String className = "*".equals(matcher.group(1)) ? null : matcher.group(1);
+            String value = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+            return new Query(matcher.group(2), value, className);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.swaglabs.pages;
 
+import com.swaglabs.utils.WaitHelper;
+
 import io.appium.java_client.AppiumBy;
 import io.qameta.allure.Step;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 
 import java.util.List;
@@ -24,6 +27,8 @@ public class ProductsPage extends BasePage {
     private static final By SORT_BUTTON = AppiumBy.accessibilityId("test-Modal Selector Button");
     private static final By PRODUCT_TITLE = AppiumBy.accessibilityId("test-Item title");
     private static final By PRODUCT_PRICE = AppiumBy.accessibilityId("test-Price");
+    private static final By CART_BADGE_TEXT = By.xpath(
+            "//android.view.ViewGroup[@content-desc='test-Cart']/android.view.ViewGroup/android.widget.TextView");
 
     // ==================== Page Actions ====================
 
@@ -39,15 +44,14 @@ public class ProductsPage extends BasePage {
 
     @Step("Get all product titles")
     public List<String> getAllProductTitles() {
-        List<WebElement> titles = findAll(PRODUCT_TITLE);
-        return titles.stream().map(WebElement::getText).toList();
+        return getAllTexts(PRODUCT_TITLE);
     }
 
     @Step("Tap on product at index: {index}")
     public void tapProductAtIndex(int index) {
         List<WebElement> products = getAllProducts();
         if (index >= 0 && index < products.size()) {
-            products.get(index).click();
+            tap(products.get(index));
         } else {
             throw new IndexOutOfBoundsException(
                     "Product index " + index + " out of range. Total products: " + products.size());
@@ -56,14 +60,14 @@ public class ProductsPage extends BasePage {
 
     @Step("Tap on product by name: {productName}")
     public void tapProductByName(String productName) {
-        scrollToText(productName).click();
+        tap(scrollToText(productName));
     }
 
     @Step("Add product to cart at index: {index}")
     public ProductsPage addProductToCartAtIndex(int index) {
         List<WebElement> addButtons = findAll(ADD_TO_CART_BUTTON);
         if (index >= 0 && index < addButtons.size()) {
-            addButtons.get(index).click();
+            tap(addButtons.get(index));
         } else {
             throw new IndexOutOfBoundsException(
                     "Add-to-cart button index " + index + " out of range. Total: " + addButtons.size());
@@ -74,15 +78,15 @@ public class ProductsPage extends BasePage {
     @Step("Add first {count} products to cart")
     public ProductsPage addMultipleProductsToCart(int count) {
         for (int i = 0; i < count; i++) {
-            List<WebElement> addButtons = driver().findElements(ADD_TO_CART_BUTTON);
+            List<WebElement> addButtons = findAllOrNone(ADD_TO_CART_BUTTON, 5);
             if (!addButtons.isEmpty()) {
-                addButtons.get(0).click();
+                tap(addButtons.get(0));
             } else {
                 // Scroll down and try again
                 scrollDown();
-                addButtons = driver().findElements(ADD_TO_CART_BUTTON);
+                addButtons = findAllOrNone(ADD_TO_CART_BUTTON, 5);
                 if (!addButtons.isEmpty()) {
-                    addButtons.get(0).click();
+                    tap(addButtons.get(0));
                 }
             }
         }
@@ -97,19 +101,31 @@ public class ProductsPage extends BasePage {
     @Step("Get cart badge count")
     public String getCartBadgeCount() {
         try {
-            WebElement badge = driver().findElement(
-                    By.xpath("//android.view.ViewGroup[@content-desc='test-Cart']/android.view.ViewGroup/android.widget.TextView"));
-            return badge.getText();
-        } catch (Exception e) {
+            return WaitHelper.waitForVisibility(CART_BADGE_TEXT, 2).getText();
+        } catch (TimeoutException e) {
+            // No badge is rendered while the cart is empty
             return "0";
         }
     }
 
+    @Step("Check the cart is empty")
+    public boolean isCartEmpty() {
+        // One lookup, no wait: the badge is either rendered or not
+        return !isPresentNow(CART_BADGE_TEXT);
+    }
+
     @Step("Tap sort button")
     public void tapSortButton() {
+        // Any sort chosen next reorders the list under the indexed offsets
+        forgetScrollOffsets();
         tap(SORT_BUTTON);
     }
 
+    @Override
+    protected List<By> fingerprint() {
+        return List.of(PAGE_TITLE, SORT_BUTTON, CART_BADGE);
+    }
+
     @Step("Check if Products page is loaded")
     @Override
     public boolean isPageLoaded() {
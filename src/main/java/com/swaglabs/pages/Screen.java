@@ -0,0 +1,37 @@
+package com.swaglabs.pages;
+
+import java.util.function.Supplier;
+
+/**
+ * Screen enumerates the app screens that have a page object.
+ */
+public enum Screen {
+
+    LOGIN(LoginPage::new),
+    PRODUCTS(ProductsPage::new),
+    CART(CartPage::new),
+    CHECKOUT_INFO(CheckoutInfoPage::new),
+    CHECKOUT_OVERVIEW(CheckoutOverviewPage::new),
+    CHECKOUT_COMPLETE(CheckoutCompletePage::new),
+    MENU(MenuPage::new),
+    /** Nothing matched well enough: a screen without a page object, a dialog, or the app is not in front. */
+    UNKNOWN(null);
+
+    private final Supplier<BasePage> factory;
+
+    Screen(Supplier<BasePage> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates the page object for this screen.
+     *
+     * @throws IllegalStateException for {@link #UNKNOWN}
+     */
+    public BasePage page() {
+        if (factory == null) {
+            throw new IllegalStateException("No page object for screen " + this);
+        }
+        return factory.get();
+    }
+}
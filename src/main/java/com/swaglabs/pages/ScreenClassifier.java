@@ -0,0 +1,118 @@
+package com.swaglabs.pages;
+
+import com.swaglabs.driver.DriverManager;
+
+import io.appium.java_client.android.AndroidDriver;
+
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScreenClassifier tells which page is showing from a single page source.
+ *
+ * Every page object declares a {@link BasePage#fingerprint() fingerprint}. A screen's score is
+ * the fraction of its fingerprint displayed in the snapshot; the best score of at least 0.5 wins,
+ * ties going to the larger fingerprint (so the menu drawer beats the products list underneath it).
+ * Classification is one getPageSource() plus an in-memory index lookup, instead of calling
+ * isPageLoaded() on each page with a 5 s wait apiece.
+ */
+public final class ScreenClassifier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScreenClassifier.class);
+    private static final double MIN_SCORE = 0.5;
+    private static final Map<Screen, List<By>> FINGERPRINTS = fingerprints();
+
+    private ScreenClassifier() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Classifies the current thread's screen. Returns null when there is no driver or the page
+     * source cannot be fetched, so listeners can call it unconditionally.
+     */
+    public static Classification classifyCurrent() {
+        try {
+            return classify(DriverManager.getDriver());
+        } catch (RuntimeException e) {
+            LOG.debug("Screen classification unavailable — {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fetches the page source once and classifies it.
+     */
+    public static Classification classify(AndroidDriver driver) {
+        long start = System.nanoTime();
+        Classification result = classify(PageSnapshot.parse(driver.getPageSource()));
+        return new Classification(result.screen(), result.score(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Classifies a snapshot already in hand, without any device round-trip.
+     */
+    public static Classification classify(PageSnapshot snapshot) {
+        Screen best = Screen.UNKNOWN;
+        double bestScore = 0;
+        int bestSize = 0;
+        for (Map.Entry<Screen, List<By>> entry : FINGERPRINTS.entrySet()) {
+            List<By> fingerprint = entry.getValue();
+            int matched = 0;
+            for (By locator : fingerprint) {
+                if (snapshot.isDisplayed(locator)) {
+                    matched++;
+                }
+            }
+            double score = (double) matched / fingerprint.size();
+            if (score >= MIN_SCORE && (score > bestScore || (score == bestScore && fingerprint.size() > bestSize))) {
+                best = entry.getKey();
+                bestScore = score;
+                bestSize = fingerprint.size();
+            }
+        }
+        return new Classification(best, bestScore, 0);
+    }
+
+    /**
+     * Collects each page's fingerprint once, keeping only locators a snapshot can answer.
+     */
+    private static Map<Screen, List<By>> fingerprints() {
+        Map<Screen, List<By>> fingerprints = new EnumMap<>(Screen.class);
+        for (Screen screen : Screen.values()) {
+            if (screen == Screen.UNKNOWN) {
+                continue;
+            }
+            List<By> usable = new ArrayList<>();
+            for (By locator : screen.page().fingerprint()) {
+                if (PageSnapshot.supports(locator)) {
+                    usable.add(locator);
+                } else {
+                    LOG.warn("Fingerprint locator of {} cannot be answered from a page source — ignored: {}", screen, locator);
+                }
+            }
+            if (!usable.isEmpty()) {
+                fingerprints.put(screen, Collections.unmodifiableList(usable));
+            }
+        }
+        return Collections.unmodifiableMap(fingerprints);
+    }
+
+    /**
+     * The most likely screen, its score (fraction of the fingerprint displayed) and how long the
+     * classification took including the page-source fetch.
+     */
+    public record Classification(Screen screen, double score, long elapsedMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%s (score %.2f, %d ms)", screen, score, elapsedMs);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.swaglabs.pages;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ScrollIndex remembers, per screen, at which scroll offset each text and content-desc was seen.
+ *
+ * Offsets count scroll steps downwards from the position the screen was first indexed at
+ * (normally the top of the list; a search that scrolls up to the top re-bases the index there).
+ * The index never tracks scrolls itself: the current offset is re-derived from whatever indexed
+ * items are visible, so it stays usable after navigation resets a list or a scroll happens
+ * elsewhere. Offsets are hints — a jump is always verified on screen.
+ *
+ * One index per thread, so parallel sessions never share positions.
+ */
+public final class ScrollIndex {
+
+    private static final ThreadLocal<Map<String, ScrollIndex>> SCREENS = ThreadLocal.withInitial(HashMap::new);
+
+    private final Map<String, Integer> offsets = new HashMap<>();
+
+    private ScrollIndex() {
+    }
+
+    /**
+     * Returns the current thread's index for the screen, creating it on first use.
+     */
+    public static ScrollIndex forScreen(String screenKey) {
+        return SCREENS.get().computeIfAbsent(screenKey, key -> new ScrollIndex());
+    }
+
+    /**
+     * Drops every screen index of the current thread, e.g. after the app's data was reset.
+     */
+    public static void clear() {
+        SCREENS.get().clear();
+    }
+
+    /**
+     * Forgets every offset of this screen, e.g. when its list was re-sorted or its top found
+     * somewhere other than where indexing started.
+     */
+    public void reset() {
+        offsets.clear();
+    }
+
+    /**
+     * Returns the offset the snapshot was taken at, judged by the indexed items it shows, or null
+     * if none of them has been indexed yet. Items are indexed at the lowest offset they appear at,
+     * so the largest offset on screen is the current one.
+     */
+    public Integer locate(PageSnapshot snapshot) {
+        Integer position = null;
+        for (PageSnapshot.Node node : snapshot.nodes()) {
+            if (!node.displayed()) {
+                continue;
+            }
+            position = max(position, offsets.get(key("text", node.text())));
+            position = max(position, offsets.get(key("content-desc", node.contentDesc())));
+        }
+        return position;
+    }
+
+    /**
+     * Indexes every displayed text and content-desc of the snapshot at the given offset,
+     * keeping the lowest offset an item was seen at, whichever way the list was scrolled.
+     */
+    public void record(PageSnapshot snapshot, int offset) {
+        for (PageSnapshot.Node node : snapshot.nodes()) {
+            if (node.displayed()) {
+                keepLowest(key("text", node.text()), offset);
+                keepLowest(key("content-desc", node.contentDesc()), offset);
+            }
+        }
+    }
+
+    /**
+     * Returns the offset an item with this attribute value was seen at, or null if never seen.
+     *
+     * @param attribute "text" or "content-desc"
+     */
+    public Integer offsetOf(String attribute, String value) {
+        return offsets.get(key(attribute, value));
+    }
+
+    public int size() {
+        return offsets.size();
+    }
+
+    private void keepLowest(String key, int offset) {
+        if (key != null) {
+            offsets.merge(key, offset, Math::min);
+        }
+    }
+
+    private static String key(String attribute, String value) {
+        return value == null ? null : attribute + "=" + value;
+    }
+
+    private static Integer max(Integer current, Integer candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null ? candidate : Math.max(current, candidate);
+    }
+}
@@ -0,0 +1,98 @@
+package com.swaglabs.pages;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StateCache remembers, per thread, the app state the last test left behind, so the next test's
+ * precondition can reuse or extend it instead of rebuilding it from a reset.
+ *
+ * Only the data a screen walk cannot restore is tracked — the number of items in the cart after
+ * an in-app reset. The entry is forgotten whenever a test may have changed it (a failure, a test
+ * declared as mutating, a new session), so a stale entry can cost a rebuild but never a wrong
+ * start. Suite-wide counters show how often a precondition was served without a reset.
+ */
+public final class StateCache {
+
+    private static final ThreadLocal<Integer> CART_ITEMS = new ThreadLocal<>();
+    private static final Map<Outcome, AtomicLong> COUNTS = new LinkedHashMap<>();
+    private static final Map<Outcome, AtomicLong> NANOS = new LinkedHashMap<>();
+
+    static {
+        for (Outcome outcome : Outcome.values()) {
+            COUNTS.put(outcome, new AtomicLong());
+            NANOS.put(outcome, new AtomicLong());
+        }
+    }
+
+    /**
+     * How a precondition was established.
+     */
+    public enum Outcome {
+        /** The app already held the required data; only a screen walk was needed. */
+        HIT,
+        /** The cart was topped up from the cached count. */
+        EXTENDED,
+        /** The app's data was restored from a snapshot captured earlier. */
+        RESTORED,
+        /** The app was reset and the state built from scratch. */
+        REBUILT
+    }
+
+    private StateCache() {
+        // Prevent instantiation
+    }
+
+    /**
+     * The cart size known for the current thread's app, or null if unknown.
+     */
+    public static Integer cartItems() {
+        return CART_ITEMS.get();
+    }
+
+    /**
+     * Records the cart size the app holds right now.
+     */
+    public static void remember(int cartItems) {
+        CART_ITEMS.set(cartItems);
+    }
+
+    /**
+     * Forgets the current thread's state, e.g. after a test that may have changed it.
+     */
+    public static void forget() {
+        CART_ITEMS.remove();
+    }
+
+    /**
+     * Counts one precondition and the time it took.
+     */
+    public static void record(Outcome outcome, long elapsedNanos) {
+        COUNTS.get(outcome).incrementAndGet();
+        NANOS.get(outcome).addAndGet(elapsedNanos);
+    }
+
+    /**
+     * Clears the suite-wide counters.
+     */
+    public static void resetCounts() {
+        COUNTS.values().forEach(count -> count.set(0));
+        NANOS.values().forEach(nanos -> nanos.set(0));
+    }
+
+    /**
+     * Per outcome: how many preconditions and the total time spent establishing them.
+     */
+    public static Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Outcome outcome : Outcome.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", COUNTS.get(outcome).get());
+            entry.put("totalMs", Duration.ofNanos(NANOS.get(outcome).get()).toMillis());
+            summary.put(outcome.name(), entry);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,155 @@
+package com.swaglabs.pages;
+
+import io.qameta.allure.Allure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StepCheckpoints lets a long multi-step test resume from its last passed step when it is retried.
+ *
+ * Each {@link #step} declares the app state it leaves behind — a screen and a cart size. After a
+ * step passes, the latest such state that {@link AppReset#prepare} can re-establish becomes the
+ * test's checkpoint; states only reachable by submitting a form (the checkout overview) are passed
+ * over. When the test is retried, {@link #begin} restores the checkpoint through navigation or the
+ * {@link StateCache} instead of resetting to the start screen, and the steps up to it are reported
+ * as passed in an earlier attempt rather than run again — a retry costs the failed step, not the
+ * whole flow. TestNG still reports one test method with its retries.
+ *
+ * Checkpoints are kept per test method, parameters and &lt;test&gt;, and dropped once the test
+ * passes or fails for good ({@link #finish}).
+ */
+public final class StepCheckpoints {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StepCheckpoints.class);
+
+    private static final Map<String, Checkpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StepCheckpoints> CURRENT = new ThreadLocal<>();
+
+    private final String testId;
+    private final AppReset appReset;
+    private final int resumeAfter;
+    private int index;
+
+    private StepCheckpoints(String testId, AppReset appReset, int resumeAfter) {
+        this.testId = testId;
+        this.appReset = appReset;
+        this.resumeAfter = resumeAfter;
+    }
+
+    /**
+     * Starts the flow for a test method about to run. On a retry with a checkpoint, brings the
+     * app to the checkpoint's state.
+     *
+     * @return true if the app was restored to a checkpoint; false if the test starts from the
+     *         beginning and needs its usual start screen
+     */
+    public static boolean begin(ITestResult result, AppReset appReset) {
+        return begin(testId(result), appReset);
+    }
+
+    /**
+     * Starts the flow for the test with the given id; see {@link #begin(ITestResult, AppReset)}.
+     */
+    public static boolean begin(String testId, AppReset appReset) {
+        Checkpoint checkpoint = CHECKPOINTS.get(testId);
+        if (checkpoint == null) {
+            CURRENT.set(new StepCheckpoints(testId, appReset, 0));
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            appReset.prepare(checkpoint.state().screen(), checkpoint.state().cartItems(), AppReset.Cleanliness.APP_STATE);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not restore checkpoint '{}' — starting {} from the beginning: {}",
+                    checkpoint.step(), testId, e.getMessage());
+            CHECKPOINTS.remove(testId);
+            CURRENT.set(new StepCheckpoints(testId, appReset, 0));
+            return false;
+        }
+        LOG.info("Resuming {} after step {} '{}' — {} restored in {} ms", testId, checkpoint.index(),
+                checkpoint.step(), checkpoint.state(), (System.nanoTime() - start) / 1_000_000);
+        CURRENT.set(new StepCheckpoints(testId, appReset, checkpoint.index()));
+        return true;
+    }
+
+    /**
+     * The flow begun for the test running on this thread.
+     *
+     * @throws IllegalStateException if {@link #begin} was not called for it
+     */
+    public static StepCheckpoints current() {
+        StepCheckpoints flow = CURRENT.get();
+        if (flow == null) {
+            throw new IllegalStateException("No checkpointed flow begun on thread " + Thread.currentThread().getName());
+        }
+        return flow;
+    }
+
+    /**
+     * Drops the test's checkpoint — it passed, or failed with no retry left.
+     */
+    public static void finish(ITestResult result) {
+        finish(testId(result));
+    }
+
+    /**
+     * Drops the checkpoint of the test with the given id.
+     */
+    public static void finish(String testId) {
+        CHECKPOINTS.remove(testId);
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs one step, or records it as passed in an earlier attempt if the flow resumed past it.
+     *
+     * @param produces the app state the step leaves behind when it passes
+     */
+    public void step(String name, State produces, Runnable action) {
+        index++;
+        String title = "Step " + index + ": " + name;
+        if (index <= resumeAfter) {
+            LOG.info("{} — passed in an earlier attempt", title);
+            Allure.step(title + " (passed in an earlier attempt)");
+            return;
+        }
+        LOG.info(title);
+        Allure.step(title, action::run);
+        if (appReset.canPrepare(produces.screen())) {
+            CHECKPOINTS.put(testId, new Checkpoint(index, name, produces));
+        }
+    }
+
+    private static String testId(ITestResult result) {
+        return result.getTestContext().getName() + "/" + result.getMethod().getQualifiedName()
+                + Arrays.toString(result.getParameters());
+    }
+
+    /**
+     * The app state a step leaves behind: a screen and the number of products in the cart.
+     */
+    public record State(Screen screen, int cartItems) {
+
+        public static State at(Screen screen) {
+            return new State(screen, 0);
+        }
+
+        public static State at(Screen screen, int cartItems) {
+            return new State(screen, cartItems);
+        }
+
+        @Override
+        public String toString() {
+            return screen + " with " + cartItems + " cart item(s)";
+        }
+    }
+
+    private record Checkpoint(int index, String step, State state) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.swaglabs.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FrameRing keeps the most recent encoded frames in one off-heap buffer of fixed size.
+ *
+ * The buffer is split into equal slots, one frame per slot; a new frame overwrites the oldest
+ * once every slot is taken, and a frame larger than a slot is refused rather than growing the
+ * buffer. The footprint is therefore exactly slots x slotBytes of direct memory, allocated once,
+ * whatever the test does. Instances are synchronized: one sampler thread writes while the test
+ * thread may read or clear.
+ */
+public final class FrameRing {
+
+    private final ByteBuffer buffer;
+    private final int slotBytes;
+    private final int[] lengths;
+    private final long[] timestamps;
+    private int next;
+    private int size;
+    private long refused;
+
+    public FrameRing(int slots, int slotBytes) {
+        if (slots <= 0 || slotBytes <= 0) {
+            throw new IllegalArgumentException("Frame ring needs at least one slot of at least one byte");
+        }
+        this.buffer = ByteBuffer.allocateDirect(Math.multiplyExact(slots, slotBytes));
+        this.slotBytes = slotBytes;
+        this.lengths = new int[slots];
+        this.timestamps = new long[slots];
+    }
+
+    /**
+     * Stores a frame in the next slot, overwriting the oldest one when full.
+     *
+     * @return false if the frame does not fit in a slot and was not stored
+     */
+    public synchronized boolean add(byte[] frame, long timestampMillis) {
+        if (frame.length > slotBytes) {
+            refused++;
+            return false;
+        }
+        buffer.put(next * slotBytes, frame);
+        lengths[next] = frame.length;
+        timestamps[next] = timestampMillis;
+        next = (next + 1) % lengths.length;
+        size = Math.min(size + 1, lengths.length);
+        return true;
+    }
+
+    /**
+     * Copies the stored frames onto the heap, oldest first.
+     */
+    public synchronized List<Frame> frames() {
+        List<Frame> frames = new ArrayList<>(size);
+        int oldest = (next - size + lengths.length) % lengths.length;
+        for (int i = 0; i < size; i++) {
+            int slot = (oldest + i) % lengths.length;
+            byte[] bytes = new byte[lengths[slot]];
+            buffer.get(slot * slotBytes, bytes);
+            frames.add(new Frame(bytes, timestamps[slot]));
+        }
+        return frames;
+    }
+
+    /**
+     * Drops every frame; the buffer itself is kept for reuse.
+     */
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Frames refused because they were larger than a slot.
+     */
+    public synchronized long refused() {
+        return refused;
+    }
+
+    /**
+     * Direct memory held by this ring.
+     */
+    public int capacityBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * One encoded frame and when it was captured.
+     */
+    public record Frame(byte[] bytes, long timestampMillis) {
+    }
+}
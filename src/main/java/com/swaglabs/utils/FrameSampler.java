@@ -0,0 +1,304 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FrameSampler records what the screen looked like in the seconds before a failure.
+ *
+ * While a test runs, a daemon thread owned by the test thread takes a screenshot every
+ * frame.sampler.interval.ms, shrinks it to frame.sampler.width as a JPEG, and keeps it in a
+ * {@link FrameRing} sized for the last frame.sampler.seconds. On success the frames are dropped;
+ * on failure they are encoded into an animated GIF for Allure, so a toast or an animation the
+ * after-the-fact failure screenshot misses is still on record.
+ *
+ * Memory is bounded by the ring (frame.sampler.slot.kb per frame, allocated once off-heap per
+ * test thread). Decoding and re-encoding happen on the sampler thread; the cost to the test is the
+ * device time the extra screenshot commands take, reported as capture latency in
+ * reports/frame-sampler.json next to the per-thread command latencies. Opt-in with
+ * frame.sampler.enabled.
+ */
+public final class FrameSampler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FrameSampler.class);
+    private static final boolean ENABLED = ConfigReader.getBoolean("frame.sampler.enabled", false);
+
+    private static final Map<Thread, FrameSampler> ALL_SAMPLERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<FrameSampler> CURRENT = ThreadLocal.withInitial(() -> {
+        FrameSampler sampler = fromConfig();
+        ALL_SAMPLERS.put(Thread.currentThread(), sampler);
+        return sampler;
+    });
+
+    private final Duration interval;
+    private final FrameRing ring;
+    private final ScreenshotStore encoder;
+    private final ScheduledExecutorService executor;
+    private final LatencyHistogram captureLatency = new LatencyHistogram();
+
+    private ScheduledFuture<?> sampling;
+    private long captured;
+    private long failedCaptures;
+    private long encodedGifs;
+
+    /**
+     * @param seconds   how much history the ring holds
+     * @param width     frames are downscaled to this width before they are stored
+     * @param slotBytes the largest encoded frame the ring accepts
+     */
+    public FrameSampler(Duration interval, int seconds, int width, float quality, int slotBytes) {
+        this.interval = interval;
+        int slots = (int) Math.max(1, Duration.ofSeconds(seconds).toMillis() / Math.max(1, interval.toMillis()));
+        this.ring = new FrameRing(slots, slotBytes);
+        this.encoder = new ScreenshotStore(ScreenshotStore.Format.JPEG, quality, width, -1);
+        String owner = Thread.currentThread().getName();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "frame-sampler-" + owner);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the calling thread's sampler, creating it from config on first use.
+     */
+    public static FrameSampler current() {
+        return CURRENT.get();
+    }
+
+    private static FrameSampler fromConfig() {
+        return new FrameSampler(
+                Duration.ofMillis(ConfigReader.getInt("frame.sampler.interval.ms", 500)),
+                ConfigReader.getInt("frame.sampler.seconds", 10),
+                ConfigReader.getInt("frame.sampler.width", 270),
+                Float.parseFloat(ConfigReader.get("frame.sampler.jpeg.quality", "0.6")),
+                ConfigReader.getInt("frame.sampler.slot.kb", 48) * 1024);
+    }
+
+    /**
+     * Starts sampling the driver's screen, dropping anything recorded for the previous test.
+     */
+    public synchronized void start(WebDriver driver) {
+        stopSampling();
+        ring.clear();
+        sampling = executor.scheduleWithFixedDelay(() -> sample(driver), 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and drops the recorded frames — the test passed.
+     */
+    public synchronized void discard() {
+        stopSampling();
+        ring.clear();
+    }
+
+    /**
+     * Stops sampling and encodes the recorded frames into an animated GIF.
+     *
+     * @return the GIF, or null if no frame was recorded
+     */
+    public synchronized byte[] stop() {
+        stopSampling();
+        List<FrameRing.Frame> frames = ring.frames();
+        ring.clear();
+        if (frames.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] gif = encodeGif(frames);
+            encodedGifs++;
+            LOG.info("Encoded {} frame(s) from the last {} ms into a {} KB GIF", frames.size(),
+                    frames.get(frames.size() - 1).timestampMillis() - frames.get(0).timestampMillis(), gif.length / 1024);
+            return gif;
+        } catch (IOException e) {
+            LOG.warn("Could not encode sampled frames — {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Frames currently held, oldest first.
+     */
+    public List<FrameRing.Frame> frames() {
+        return ring.frames();
+    }
+
+    private void stopSampling() {
+        if (sampling == null) {
+            return;
+        }
+        sampling.cancel(false);
+        try {
+            // Let a capture in flight finish so it cannot land in the next test's ring
+            executor.submit(() -> { }).get(interval.toMillis() + 30_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.debug("Frame sampler did not settle — {}", e.getMessage());
+        }
+        sampling = null;
+    }
+
+    /**
+     * Takes, shrinks and stores one frame. Runs on the sampler thread.
+     */
+    private void sample(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            long captureNanos = System.nanoTime() - start;
+            byte[] frame = encoder.encode(png).bytes();
+            synchronized (captureLatency) {
+                captureLatency.recordNanos(captureNanos);
+                captured++;
+            }
+            if (!ring.add(frame, System.currentTimeMillis())) {
+                LOG.debug("Sampled frame of {} KB exceeds the ring slot — skipped", frame.length / 1024);
+            }
+        } catch (WebDriverException | IOException e) {
+            synchronized (captureLatency) {
+                failedCaptures++;
+            }
+            LOG.debug("Frame sample failed — {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Encodes JPEG frames into a looping GIF, each frame shown for as long as it was on screen.
+     */
+    public static byte[] encodeGif(List<FrameRing.Frame> frames) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < frames.size(); i++) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(frames.get(i).bytes()));
+                if (image == null) {
+                    continue;
+                }
+                long shownMillis = i + 1 < frames.size()
+                        ? frames.get(i + 1).timestampMillis() - frames.get(i).timestampMillis() : 1000;
+                IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+                setFrameMetadata(metadata, shownMillis, i == 0);
+                writer.writeToSequence(new IIOImage(image, null, metadata), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void setFrameMetadata(IIOMetadata metadata, long shownMillis, boolean first) throws IOException {
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", String.valueOf(Math.max(1, Math.min(65_535, shownMillis / 10))));
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (first) {
+            // NETSCAPE2.0 application extension: loop forever
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[]{1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (name.equals(node.getNodeName())) {
+                return (IIOMetadataNode) node;
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+
+    /**
+     * This sampler's capture count, capture latency and ring usage.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        synchronized (captureLatency) {
+            summary.put("captured", captured);
+            summary.put("failedCaptures", failedCaptures);
+            summary.put("captureLatency", captureLatency.summary());
+        }
+        summary.put("refusedFrames", ring.refused());
+        summary.put("gifs", encodedGifs);
+        summary.put("ringBytes", ring.capacityBytes());
+        return summary;
+    }
+
+    /**
+     * Writes every sampler's summary as JSON, if sampling was enabled.
+     */
+    public static void writeSuiteReport(Path file) {
+        if (ALL_SAMPLERS.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> threads = new ArrayList<>();
+        ALL_SAMPLERS.forEach((thread, sampler) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("thread", thread.getName());
+            entry.putAll(sampler.summary());
+            threads.add(entry);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("offHeapBytes", ALL_SAMPLERS.values().stream().mapToLong(s -> s.ring.capacityBytes()).sum());
+        report.put("threads", threads);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            LOG.info("Frame sampler report written: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.error("Failed to write frame sampler report: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.swaglabs.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LatencyHistogram records latencies into fixed log-linear buckets (HdrHistogram-style):
+ * each power-of-two range of microseconds is split into 16 linear sub-buckets, giving
+ * at most ~6% relative error from 1 µs up to ~19 hours with a single pre-allocated array.
+ *
+ * Recording never allocates. Instances are not synchronized — each histogram is meant to be
+ * written by one thread and merged or read once that thread is done.
+ */
+public final class LatencyHistogram {
+
+    private static final double[] SUMMARY_PERCENTILES = {50, 95, 99};
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalMicros;
+    private long maxMicros;
+
+    /**
+     * Records one latency measured in nanoseconds.
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    /**
+     * Records one latency measured in microseconds.
+     */
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        totalMicros += value;
+        if (value > maxMicros) {
+            maxMicros = value;
+        }
+    }
+
+    /**
+     * Adds all recordings of another histogram to this one.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    /**
+     * Clears all recordings so the histogram can be reused.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalMicros = 0;
+        maxMicros = 0;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public Duration total() {
+        return Duration.ofNanos(totalMicros * 1_000);
+    }
+
+    public Duration max() {
+        return Duration.ofNanos(maxMicros * 1_000);
+    }
+
+    public Duration mean() {
+        return totalCount == 0 ? Duration.ZERO : Duration.ofNanos(totalMicros * 1_000 / totalCount);
+    }
+
+    /**
+     * Returns the latency at the given percentile (0–100), reported as the upper bound of its bucket.
+     */
+    public Duration percentile(double percentile) {
+        if (totalCount == 0) {
+            return Duration.ZERO;
+        }
+        long target = Math.max(1, (long) Math.ceil(totalCount * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Duration.ofNanos(Math.min(bucketUpperBound(i), maxMicros) * 1_000);
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Returns count, total, mean, p50/p95/p99 and max in milliseconds, ready for a JSON report.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", count());
+        stats.put("totalMs", total().toMillis());
+        stats.put("meanMs", toMillis(mean()));
+        for (double p : SUMMARY_PERCENTILES) {
+            stats.put("p" + (int) p + "Ms", toMillis(percentile(p)));
+        }
+        stats.put("maxMs", toMillis(max()));
+        return stats;
+    }
+
+    /**
+     * Milliseconds rounded to two decimals.
+     */
+    public static double toMillis(Duration duration) {
+        return Math.round(duration.toNanos() / 10_000.0) / 100.0;
+    }
+
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket, BUCKET_COUNT - 1);
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long base = (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+        return base + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
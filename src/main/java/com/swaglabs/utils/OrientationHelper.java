@@ -1,6 +1,9 @@
 package com.swaglabs.utils;
 
 import com.swaglabs.driver.DriverManager;
+import com.swaglabs.driver.ScreenGeometry;
+
+import io.appium.java_client.android.AndroidDriver;
 
 import org.openqa.selenium.ScreenOrientation;
 import org.slf4j.Logger;
@@ -48,14 +51,17 @@ public final class OrientationHelper {
     }
 
     /**
-     * Sets the device orientation.
+     * Sets the device orientation and switches the cached screen geometry to it.
      */
     public static void setOrientation(ScreenOrientation orientation) {
+        AndroidDriver driver = DriverManager.getDriver();
         try {
-            DriverManager.getDriver().rotate(orientation);
+            driver.rotate(orientation);
+            ScreenGeometry.rotated(driver, orientation);
             LOG.info("Device orientation set to: {}", orientation);
         } catch (Exception e) {
             LOG.error("Failed to set orientation to {}: {}", orientation, e.getMessage());
+            ScreenGeometry.invalidate(driver);
             throw e;
         }
     }
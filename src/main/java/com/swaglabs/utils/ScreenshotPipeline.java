@@ -0,0 +1,211 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.config.ConfigReader;
+
+import io.qameta.allure.Allure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotPipeline writes captured screenshots to disk and to Allure off the test thread.
+ *
+ * The test thread only captures the bytes and registers the Allure attachment (which must happen
+ * while the test is current); a small bounded pool does the file and attachment writes. When the
+ * queue is full the configured {@link Backpressure} policy applies. File names carry a millisecond
+ * timestamp plus a JVM-wide sequence number, so parallel threads never overwrite each other.
+ * Call {@link #flush(Duration)} before reading the results, e.g. at suite end.
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static final ScreenshotPipeline SHARED = new ScreenshotPipeline(
+            Paths.get(ConfigReader.get("screenshot.dir", "reports/screenshots")), ScreenshotStore.shared(),
+            ConfigReader.getInt("screenshot.writer.threads", 2),
+            ConfigReader.getInt("screenshot.queue.capacity", 16),
+            Backpressure.valueOf(ConfigReader.get("screenshot.backpressure", "block").trim().toUpperCase().replace('-', '_')),
+            Duration.ofMillis(ConfigReader.getInt("screenshot.queue.timeout.ms", 2000)));
+
+    /**
+     * What a capture does when every writer is busy and the queue is full.
+     */
+    public enum Backpressure {
+        /** Wait up to the queue timeout for a slot, then write on the calling thread. */
+        BLOCK,
+        /** Write on the calling thread straight away. */
+        CALLER_RUNS,
+        /** Drop the screenshot and count it; the test thread never waits. */
+        DROP
+    }
+
+    private final Path directory;
+    private final ScreenshotStore store;
+    private final Backpressure backpressure;
+    private final Duration queueTimeout;
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor writers;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong inline = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * A pipeline that writes captures exactly as taken, without re-encoding or de-duplication.
+     */
+    public ScreenshotPipeline(Path directory, int threads, int capacity, Backpressure backpressure, Duration queueTimeout) {
+        this(directory, new ScreenshotStore(ScreenshotStore.Format.PNG, 1f, 0, -1), threads, capacity,
+                backpressure, queueTimeout);
+    }
+
+    public ScreenshotPipeline(Path directory, ScreenshotStore store, int threads, int capacity,
+                              Backpressure backpressure, Duration queueTimeout) {
+        this.directory = directory;
+        this.store = store;
+        this.backpressure = backpressure;
+        this.queueTimeout = queueTimeout;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread thread = new Thread(r, "screenshot-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, rejectionHandler());
+    }
+
+    /**
+     * The pipeline shared by the framework, configured by the screenshot.* keys.
+     */
+    public static ScreenshotPipeline shared() {
+        return SHARED;
+    }
+
+    /**
+     * Queues one captured PNG. Must be called on the test thread so the Allure attachment lands in
+     * the right test.
+     *
+     * @param toDisk   also save the PNG under the screenshot directory
+     * @param toAllure also attach the PNG to the current Allure test
+     * @return completes, once written, with the file holding the frame — a new file, or an earlier
+     *         capture of the same test it duplicates — or with null if not saved to disk, dropped
+     *         or failed
+     */
+    public CompletableFuture<Path> submit(String name, byte[] png, boolean toDisk, boolean toAllure) {
+        if (backpressure == Backpressure.DROP && queue.remainingCapacity() == 0) {
+            dropped.incrementAndGet();
+            LOG.warn("Screenshot writer queue full — dropped screenshot {}", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        Path file = toDisk ? directory.resolve(uniqueFileName(name)) : null;
+        String attachment = toAllure ? Allure.getLifecycle().prepareAttachment(name + "_screenshot",
+                store.format().contentType(), store.format().extension()) : null;
+        CompletableFuture<Path> storedAs = new CompletableFuture<>();
+        pending.incrementAndGet();
+        writers.execute(() -> {
+            try {
+                Path stored = write(name, file, attachment, png);
+                written.incrementAndGet();
+                storedAs.complete(stored);
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Failed to write screenshot {}", name, e);
+                storedAs.complete(null);
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+        return storedAs;
+    }
+
+    /**
+     * Re-encodes and writes one screenshot through the store. Runs on a writer thread, or on the
+     * caller under backpressure.
+     *
+     * @return the file holding the frame, or null if it was not saved to disk
+     */
+    protected Path write(String name, Path file, String attachment, byte[] png) throws IOException {
+        ScreenshotStore.Encoded frame = store.encode(png);
+        Path stored = file == null ? null : store.save(file, name, frame);
+        if (attachment != null) {
+            Allure.getLifecycle().writeAttachment(attachment, new ByteArrayInputStream(frame.bytes()));
+        }
+        return stored;
+    }
+
+    /**
+     * Waits until every queued screenshot has been written, up to the timeout.
+     *
+     * @return true if nothing is pending any more
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        LOG.info("Screenshots — {} written, {} on the test thread, {} dropped, {} pending",
+                written.get(), inline.get(), dropped.get(), pending.get());
+        return pending.get() == 0;
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    /**
+     * Screenshots written on the calling thread because the queue was full.
+     */
+    public long writtenInline() {
+        return inline.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * A file name no other capture in this JVM can produce, even within the same millisecond.
+     */
+    private String uniqueFileName(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_\\-]", "_") + "_" + LocalDateTime.now().format(TIMESTAMP_FORMAT)
+                + "_" + SEQUENCE.incrementAndGet() + store.format().extension();
+    }
+
+    private RejectedExecutionHandler rejectionHandler() {
+        return (job, executor) -> {
+            if (backpressure == Backpressure.BLOCK) {
+                try {
+                    if (queue.offer(job, queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // DROP reaches here only if the queue filled up between the check and the submit
+            inline.incrementAndGet();
+            job.run();
+        };
+    }
+}
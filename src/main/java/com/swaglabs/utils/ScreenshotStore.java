@@ -0,0 +1,285 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ScreenshotStore shrinks screenshots before they are written and stores each distinct frame once.
+ *
+ * Captures are downscaled to screenshot.max.width and re-encoded as JPEG at screenshot.jpeg.quality
+ * (or kept as PNG). A 64-bit difference hash (dHash) of every frame is compared with the frames
+ * already stored in this run under the same capture name, i.e. by the same test; a frame within
+ * screenshot.dedup.distance bits of one of them — the same failure screen captured again on a
+ * retry, say — is not written again but recorded as a reference to the original. Frames of
+ * different tests are never merged: a thumbnail hash cannot tell two error messages on the same
+ * screen apart. {@link #writeReport(Path)} lists every capture with the file it resolves to, plus
+ * original vs stored byte totals.
+ */
+public class ScreenshotStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScreenshotStore.class);
+
+    private static final ScreenshotStore SHARED = new ScreenshotStore(
+            Format.valueOf(ConfigReader.get("screenshot.format", "jpeg").trim().toUpperCase(Locale.ROOT)),
+            Float.parseFloat(ConfigReader.get("screenshot.jpeg.quality", "0.75")),
+            ConfigReader.getInt("screenshot.max.width", 540),
+            ConfigReader.getInt("screenshot.dedup.distance", 0));
+
+    /**
+     * Encoding of stored screenshots.
+     */
+    public enum Format {
+        JPEG("image/jpeg", ".jpg"),
+        PNG("image/png", ".png");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final Format format;
+    private final float quality;
+    private final int maxWidth;
+    private final int dedupDistance;
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * @param maxWidth      downscale wider frames to this width; 0 keeps the original size
+     * @param dedupDistance max differing hash bits for two frames to count as the same; negative disables
+     */
+    public ScreenshotStore(Format format, float quality, int maxWidth, int dedupDistance) {
+        this.format = format;
+        this.quality = quality;
+        this.maxWidth = maxWidth;
+        this.dedupDistance = dedupDistance;
+    }
+
+    /**
+     * The store shared by the framework, configured by the screenshot.* keys.
+     */
+    public static ScreenshotStore shared() {
+        return SHARED;
+    }
+
+    public Format format() {
+        return format;
+    }
+
+    /**
+     * Downscales and re-encodes a captured PNG, and computes its perceptual hash.
+     */
+    public Encoded encode(byte[] png) throws IOException {
+        if (format == Format.PNG && maxWidth <= 0 && dedupDistance < 0) {
+            // Pass-through store: nothing to decode for
+            return new Encoded(png, 0, png.length);
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        long hash = differenceHash(image);
+        BufferedImage scaled = downscale(image);
+        if (format == Format.PNG && scaled == image) {
+            return new Encoded(png, hash, png.length);
+        }
+        return new Encoded(format == Format.JPEG ? jpeg(scaled) : png(scaled), hash, png.length);
+    }
+
+    /**
+     * Writes the encoded frame to the file, unless a near-identical frame with the same capture
+     * name was already stored in this run, in which case the capture is recorded as a reference
+     * to that file.
+     *
+     * @param name the capture's name, e.g. the test's; only frames with the same name are merged
+     * @return the file holding the frame — the given one, or the original it duplicates
+     */
+    public Path save(Path file, String name, Encoded frame) throws IOException {
+        Entry original;
+        synchronized (entries) {
+            original = findSimilar(name, frame.hash());
+            entries.add(new Entry(file, name, original == null ? file : original.file(), frame.hash(),
+                    frame.originalBytes(), original == null ? frame.bytes().length : 0));
+        }
+        if (original != null) {
+            LOG.info("Screenshot {} matches {} — stored as a reference", file.getFileName(), original.file().getFileName());
+            return original.file();
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, frame.bytes());
+        LOG.info("Screenshot saved: {} ({} KB, was {} KB)", file.toAbsolutePath(),
+                frame.bytes().length / 1024, frame.originalBytes() / 1024);
+        return file;
+    }
+
+    /**
+     * Number of differing bits between two perceptual hashes.
+     */
+    public static int distance(long hash, long other) {
+        return Long.bitCount(hash ^ other);
+    }
+
+    /**
+     * Per-run size report: totals and, per capture, the file it resolves to.
+     */
+    public Map<String, Object> report() {
+        synchronized (entries) {
+            long originalBytes = entries.stream().mapToLong(Entry::originalBytes).sum();
+            long storedBytes = entries.stream().mapToLong(Entry::storedBytes).sum();
+            long unique = entries.stream().filter(entry -> entry.file().equals(entry.storedAs())).count();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("captures", entries.size());
+            report.put("filesWritten", unique);
+            report.put("duplicates", entries.size() - unique);
+            report.put("originalBytes", originalBytes);
+            report.put("storedBytes", storedBytes);
+            report.put("savedPercent", originalBytes == 0 ? 0 : Math.round(100.0 * (originalBytes - storedBytes) / originalBytes));
+            List<Map<String, Object>> captures = new ArrayList<>();
+            for (Entry entry : entries) {
+                Map<String, Object> capture = new LinkedHashMap<>();
+                capture.put("name", entry.file().getFileName().toString());
+                capture.put("storedAs", entry.storedAs().getFileName().toString());
+                capture.put("hash", String.format("%016x", entry.hash()));
+                captures.add(capture);
+            }
+            report.put("screenshots", captures);
+            return report;
+        }
+    }
+
+    /**
+     * Writes the size report as JSON, if anything was stored.
+     */
+    public void writeReport(Path file) {
+        Map<String, Object> report = report();
+        if (((Integer) report.get("captures")) == 0) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            LOG.info("Screenshot storage report written: {} — {} capture(s) in {} file(s), {} KB stored of {} KB",
+                    file.toAbsolutePath(), report.get("captures"), report.get("filesWritten"),
+                    ((Long) report.get("storedBytes")) / 1024, ((Long) report.get("originalBytes")) / 1024);
+        } catch (IOException e) {
+            LOG.error("Failed to write screenshot storage report: {}", file, e);
+        }
+    }
+
+    private Entry findSimilar(String name, long hash) {
+        if (dedupDistance < 0) {
+            return null;
+        }
+        for (Entry entry : entries) {
+            if (entry.name().equals(name) && entry.file().equals(entry.storedAs())
+                    && distance(entry.hash(), hash) <= dedupDistance) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private BufferedImage downscale(BufferedImage image) {
+        if (maxWidth <= 0 || image.getWidth() <= maxWidth) {
+            return image;
+        }
+        int height = Math.max(1, Math.round(image.getHeight() * (float) maxWidth / image.getWidth()));
+        return resize(image, maxWidth, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * dHash: shrink to 9x8 grayscale and set one bit per pixel brighter than its right neighbour.
+     */
+    static long differenceHash(BufferedImage image) {
+        BufferedImage small = resize(image, 9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height, int type) {
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] jpeg(BufferedImage image) throws IOException {
+        BufferedImage rgb = image.getType() == BufferedImage.TYPE_INT_RGB
+                ? image : resize(image, image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A re-encoded frame, its perceptual hash, and the size of the capture it came from.
+     */
+    public record Encoded(byte[] bytes, long hash, long originalBytes) {
+    }
+
+    private record Entry(Path file, String name, Path storedAs, long hash, long originalBytes, long storedBytes) {
+    }
+}
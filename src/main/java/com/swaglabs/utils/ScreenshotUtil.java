@@ -2,30 +2,26 @@ package com.swaglabs.utils;
 
 import com.swaglabs.driver.DriverManager;
 
-import io.qameta.allure.Allure;
-
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ScreenshotUtil captures and saves screenshots during test execution.
  * Integrates with Allure for automatic screenshot attachment on failures.
+ *
+ * Each call takes exactly one capture on the test thread; saving the PNG and attaching it to
+ * Allure happen in the background on the {@link ScreenshotPipeline}.
  */
 public final class ScreenshotUtil {
 
     private static final Logger LOG = LoggerFactory.getLogger(ScreenshotUtil.class);
-    private static final String SCREENSHOT_DIR = "reports/screenshots/";
-    private static final DateTimeFormatter TIMESTAMP_FORMAT =
-            DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
 
     private ScreenshotUtil() {
         // Prevent instantiation
@@ -35,24 +31,10 @@ public final class ScreenshotUtil {
      * Captures a screenshot and saves it to the reports directory.
      *
      * @param testName the name of the test for the screenshot filename
-     * @return the absolute path of the saved screenshot, or null on failure
+     * @return completes with the file holding the screenshot once written, or with null on failure
      */
-    public static String captureScreenshot(String testName) {
-        try {
-            TakesScreenshot driver = (TakesScreenshot) DriverManager.getDriver();
-            File source = driver.getScreenshotAs(OutputType.FILE);
-
-            String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-            String fileName = sanitizeFileName(testName) + "_" + timestamp + ".png";
-            File destination = new File(SCREENSHOT_DIR + fileName);
-
-            FileUtils.copyFile(source, destination);
-            LOG.info("Screenshot saved: {}", destination.getAbsolutePath());
-            return destination.getAbsolutePath();
-        } catch (IOException e) {
-            LOG.error("Failed to save screenshot for test: {}", testName, e);
-            return null;
-        }
+    public static CompletableFuture<Path> captureScreenshot(String testName) {
+        return capture(DriverManager.getDriver(), testName, true, false);
     }
 
     /**
@@ -61,37 +43,32 @@ public final class ScreenshotUtil {
      * @param testName the name of the test
      */
     public static void captureAndAttachToAllure(String testName) {
-        try {
-            byte[] screenshotBytes = ((TakesScreenshot) DriverManager.getDriver())
-                    .getScreenshotAs(OutputType.BYTES);
-
-            Allure.addAttachment(
-                    testName + "_screenshot",
-                    "image/png",
-                    new ByteArrayInputStream(screenshotBytes),
-                    ".png");
-
-            LOG.info("Screenshot attached to Allure report for: {}", testName);
-        } catch (Exception e) {
-            LOG.error("Failed to attach screenshot to Allure for: {}", testName, e);
-        }
+        capture(DriverManager.getDriver(), testName, false, true);
     }
 
     /**
-     * Captures a screenshot, saves it locally, and attaches it to Allure.
+     * Captures one screenshot, saves it locally, and attaches it to Allure.
      *
      * @param testName the name of the test
-     * @return the local file path of the screenshot
+     * @return completes with the file holding the screenshot once written, or with null on failure
      */
-    public static String captureAndSave(String testName) {
-        captureAndAttachToAllure(testName);
-        return captureScreenshot(testName);
+    public static CompletableFuture<Path> captureAndSave(String testName) {
+        return capture(DriverManager.getDriver(), testName, true, true);
     }
 
     /**
-     * Sanitizes the test name for use as a filename.
+     * Takes a single capture from the given driver and hands it to the shared pipeline.
+     *
+     * @return completes with the file holding the screenshot once written — an earlier capture of
+     *         the same test if this one duplicates it — or with null if not saved
      */
-    private static String sanitizeFileName(String name) {
-        return name.replaceAll("[^a-zA-Z0-9_\\-]", "_");
+    public static CompletableFuture<Path> capture(WebDriver driver, String testName, boolean toDisk, boolean toAllure) {
+        try {
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            return ScreenshotPipeline.shared().submit(testName, png, toDisk, toAllure);
+        } catch (WebDriverException e) {
+            LOG.error("Failed to capture screenshot for test: {}", testName, e);
+            return CompletableFuture.completedFuture(null);
+        }
     }
 }
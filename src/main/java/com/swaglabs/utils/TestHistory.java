@@ -0,0 +1,380 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * TestHistory keeps every test attempt of every run in one append-only binary file, so a run can
+ * start from what earlier runs measured instead of starting blind.
+ *
+ * The file (test.history.file, default reports/test-history.bin) opens with a magic number and a
+ * format version; each record after it is length-prefixed — time, test id, orientation, device,
+ * duration, outcome, retry count and failure class — so a record cut short by a killed run is
+ * cut off on load instead of corrupting the records appended after it. The whole file is read
+ * once, indexed per test, and kept in memory as records are appended, so the queries (duration
+ * percentiles, flake rate, duration trend) cost a scan of one test's runs and can be called from
+ * listeners and schedulers. A record that fails to decode is dropped with everything after it,
+ * like a cut-off tail; a file whose header cannot be read is moved aside to a .bad sibling and a
+ * new history started.
+ */
+public final class TestHistory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestHistory.class);
+    private static final boolean ENABLED = ConfigReader.getBoolean("test.history.enabled", true);
+    private static final int MAGIC = 0x534C5448; // "SLTH"
+    private static final int VERSION = 1;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static volatile TestHistory shared;
+
+    /**
+     * How one attempt of a test ended.
+     */
+    public enum Outcome {
+        PASSED,
+        FAILED,
+        SKIPPED,
+        /** Failed, and the RetryAnalyzer ran it again. */
+        RETRIED
+    }
+
+    private final Path file;
+    private final Map<String, List<Run>> runsByTest = new ConcurrentHashMap<>();
+    private long discardedBytes;
+
+    private TestHistory(Path file) {
+        this.file = file;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Opens the history file, reading every complete record into memory. A missing file is an
+     * empty history.
+     */
+    public static TestHistory open(Path file) throws IOException {
+        TestHistory history = new TestHistory(file);
+        history.load();
+        return history;
+    }
+
+    /**
+     * The history shared by the framework, opened from test.history.file on first use.
+     */
+    public static TestHistory shared() {
+        if (shared == null) {
+            synchronized (TestHistory.class) {
+                if (shared == null) {
+                    Path file = Paths.get(ConfigReader.get("test.history.file", "reports/test-history.bin"));
+                    try {
+                        shared = open(file);
+                    } catch (IOException e) {
+                        LOG.warn("Could not read test history {} — starting a new one: {}", file, e.getMessage());
+                        shared = new TestHistory(file);
+                    }
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Appends one attempt to the file and the in-memory index.
+     */
+    public void record(Run run) {
+        byte[] record = encode(run);
+        synchronized (this) {
+            try {
+                boolean isNew = !Files.exists(file) || Files.size(file) == 0;
+                if (isNew && file.toAbsolutePath().getParent() != null) {
+                    Files.createDirectories(file.toAbsolutePath().getParent());
+                }
+                try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                     DataOutputStream data = new DataOutputStream(out)) {
+                    if (isNew) {
+                        data.writeInt(MAGIC);
+                        data.writeInt(VERSION);
+                    }
+                    data.writeInt(record.length);
+                    data.write(record);
+                }
+            } catch (IOException e) {
+                LOG.warn("Could not append to test history {} — {}", file, e.getMessage());
+            }
+        }
+        runsByTest.computeIfAbsent(run.testId(), k -> new CopyOnWriteArrayList<>()).add(run);
+    }
+
+    /**
+     * Every recorded attempt of the test, oldest first.
+     */
+    public List<Run> runs(String testId) {
+        return List.copyOf(runsByTest.getOrDefault(testId, List.of()));
+    }
+
+    public Iterable<String> testIds() {
+        return new TreeMap<>(runsByTest).keySet();
+    }
+
+    /**
+     * The given percentile of the test's passing durations, or null if it never passed.
+     */
+    public Duration percentile(String testId, double percentile) {
+        List<Long> durations = passedDurations(runs(testId));
+        if (durations.isEmpty()) {
+            return null;
+        }
+        durations.sort(Comparator.naturalOrder());
+        int rank = (int) Math.ceil(percentile / 100.0 * durations.size()) - 1;
+        return Duration.ofMillis(durations.get(Math.max(0, Math.min(durations.size() - 1, rank))));
+    }
+
+    /**
+     * Share of the test's finished runs that passed only after a retry, 0 to 1.
+     */
+    public double flakeRate(String testId) {
+        long finished = 0;
+        long flaky = 0;
+        for (Run run : runs(testId)) {
+            if (run.outcome() == Outcome.PASSED || run.outcome() == Outcome.FAILED) {
+                finished++;
+                if (run.outcome() == Outcome.PASSED && run.retryCount() > 0) {
+                    flaky++;
+                }
+            }
+        }
+        return finished == 0 ? 0 : (double) flaky / finished;
+    }
+
+    /**
+     * Median passing duration of the last window runs against the window before them.
+     *
+     * @return the trend, or null if there are fewer than two windows of passing runs
+     */
+    public Trend trend(String testId, int window) {
+        List<Long> durations = passedDurations(runs(testId));
+        if (window <= 0 || durations.size() < 2 * window) {
+            return null;
+        }
+        int end = durations.size();
+        long recent = median(durations.subList(end - window, end));
+        long previous = median(durations.subList(end - 2 * window, end - window));
+        return new Trend(Duration.ofMillis(previous), Duration.ofMillis(recent),
+                previous == 0 ? 0 : Math.round(100.0 * (recent - previous) / previous));
+    }
+
+    /**
+     * Per test: run count, p50/p95 passing duration, flake rate and a 5-run trend.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String testId : testIds()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("runs", runs(testId).size());
+            Duration p50 = percentile(testId, 50);
+            Duration p95 = percentile(testId, 95);
+            entry.put("p50Ms", p50 == null ? null : p50.toMillis());
+            entry.put("p95Ms", p95 == null ? null : p95.toMillis());
+            entry.put("flakeRate", Math.round(flakeRate(testId) * 1000) / 1000.0);
+            Trend trend = trend(testId, 5);
+            entry.put("trendPercent", trend == null ? null : trend.changePercent());
+            summary.put(testId, entry);
+        }
+        return summary;
+    }
+
+    /**
+     * Writes {@link #summary()} as JSON, if anything has been recorded.
+     */
+    public void writeReport(Path report) {
+        if (runsByTest.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, new Json().toJson(summary()), StandardCharsets.UTF_8);
+            LOG.info("Test history report written: {} — {} test(s)", report.toAbsolutePath(), runsByTest.size());
+        } catch (IOException e) {
+            LOG.error("Failed to write test history report: {}", report, e);
+        }
+    }
+
+    /**
+     * Bytes at the end of the file that did not form a complete record when it was loaded.
+     */
+    public long discardedBytes() {
+        return discardedBytes;
+    }
+
+    private void load() throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        long size = Files.size(file);
+        long read = 8;
+        int records = 0;
+        String unreadable;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            unreadable = readHeader(in);
+            while (unreadable == null) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException end) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES || length > size - read - 4) {
+                    break;
+                }
+                Run run;
+                try {
+                    run = decode(in.readNBytes(length));
+                } catch (IOException | RuntimeException e) {
+                    // A corrupt record is handled like a cut-off one: everything from it on is dropped
+                    LOG.warn("Test history {} has an unreadable record at byte {} — {}", file, read, e.toString());
+                    break;
+                }
+                runsByTest.computeIfAbsent(run.testId(), k -> new CopyOnWriteArrayList<>()).add(run);
+                read += 4 + length;
+                records++;
+            }
+        }
+        if (unreadable != null) {
+            setAside(unreadable);
+            return;
+        }
+        discardedBytes = size - read;
+        if (discardedBytes > 0) {
+            LOG.warn("Test history {} ends in {} byte(s) of an incomplete record — dropped", file, discardedBytes);
+            // Cut the partial record off so the next append lands right after the last complete one
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(read);
+            }
+        }
+        LOG.info("Test history loaded: {} run(s) of {} test(s) in {} ms", records, runsByTest.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Checks the magic number and format version.
+     *
+     * @return why the file cannot be read, or null if it can
+     */
+    private static String readHeader(DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != MAGIC) {
+                return "not a test history file";
+            }
+            int version = in.readInt();
+            return version == VERSION ? null : "unsupported version " + version;
+        } catch (EOFException e) {
+            return "header cut short";
+        }
+    }
+
+    /**
+     * Moves a file whose header cannot be read to a .bad sibling, so the next record starts a new
+     * file with a valid header instead of being appended to one no run could read.
+     */
+    private void setAside(String reason) throws IOException {
+        Path bad = file.resolveSibling(file.getFileName() + ".bad");
+        Files.move(file, bad, StandardCopyOption.REPLACE_EXISTING);
+        discardedBytes = Files.size(bad);
+        LOG.warn("Test history {} is unreadable ({}) — moved to {}, starting a new history", file, reason, bad);
+    }
+
+    private static byte[] encode(Run run) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(run.timestampMillis());
+            out.writeUTF(run.testId());
+            out.writeUTF(nullToEmpty(run.orientation()));
+            out.writeUTF(nullToEmpty(run.device()));
+            out.writeLong(run.durationMillis());
+            out.writeByte(run.outcome().ordinal());
+            out.writeByte(Math.min(run.retryCount(), Byte.MAX_VALUE));
+            out.writeUTF(nullToEmpty(run.failureClass()));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Run decode(byte[] record) throws IOException {
+        try (InputStream bytes = new ByteArrayInputStream(record); DataInputStream in = new DataInputStream(bytes)) {
+            return new Run(in.readLong(), in.readUTF(), emptyToNull(in.readUTF()), emptyToNull(in.readUTF()),
+                    in.readLong(), Outcome.values()[in.readByte()], in.readByte(), emptyToNull(in.readUTF()));
+        }
+    }
+
+    private static List<Long> passedDurations(List<Run> runs) {
+        List<Long> durations = new ArrayList<>();
+        for (Run run : runs) {
+            if (run.outcome() == Outcome.PASSED) {
+                durations.add(run.durationMillis());
+            }
+        }
+        return durations;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.naturalOrder());
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * One attempt of one test.
+     *
+     * @param failureClass the FailureClassifier class of a failed or retried attempt, else null
+     */
+    public record Run(long timestampMillis, String testId, String orientation, String device,
+                      long durationMillis, Outcome outcome, int retryCount, String failureClass) {
+    }
+
+    /**
+     * Median passing duration of a window of recent runs against the window before it.
+     */
+    public record Trend(Duration previousMedian, Duration recentMedian, long changePercent) {
+    }
+}
@@ -0,0 +1,271 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.config.ConfigReader;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * WaitEngine is the per-thread polling loop behind {@link WaitHelper}.
+ *
+ * Instead of a new WebDriverWait with a fixed 500 ms interval per call, each thread reuses one
+ * engine whose polling starts tight and backs off exponentially, never sleeping past the timeout:
+ *
+ *   wait.poll.initial.ms — first sleep after a failed check (default 50)
+ *   wait.poll.max.ms     — longest sleep between checks (default 500)
+ *   wait.poll.backoff    — multiplier applied after every failed check (default 1.5)
+ *
+ * Every satisfied wait records its time-to-satisfy per locator, together with a conservative
+ * estimate of the time a fixed 500 ms poll would have added. Waits run with the implicit wait at
+ * zero, so the engine also records the time a compounding 'implicit.wait.seconds' would have
+ * added to every "not found" outcome. Per-test summaries go to Allure, suite totals to
+ * reports/wait-latency.json.
+ */
+public final class WaitEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitEngine.class);
+    private static final long LEGACY_POLL_NANOS = Duration.ofMillis(500).toNanos();
+
+    private static final Map<Thread, WaitEngine> ALL_ENGINES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<WaitEngine> CURRENT = ThreadLocal.withInitial(() -> {
+        WaitEngine engine = fromConfig();
+        ALL_ENGINES.put(Thread.currentThread(), engine);
+        return engine;
+    });
+
+    private final long initialPollNanos;
+    private final long maxPollNanos;
+    private final double backoff;
+    private final long implicitWaitNanos;
+
+    private final Map<String, LocatorStats> suite = new HashMap<>();
+    private final Map<String, LocatorStats> test = new HashMap<>();
+    private long suiteImplicitSavedNanos;
+    private long testImplicitSavedNanos;
+
+    /**
+     * @param implicitWait the implicit wait that would otherwise compound with explicit waits,
+     *                     used only to report the time saved
+     */
+    public WaitEngine(Duration initialPoll, Duration maxPoll, double backoff, Duration implicitWait) {
+        this.initialPollNanos = Math.max(1, initialPoll.toNanos());
+        this.maxPollNanos = Math.max(initialPollNanos, maxPoll.toNanos());
+        this.backoff = Math.max(1.0, backoff);
+        this.implicitWaitNanos = implicitWait.toNanos();
+    }
+
+    /**
+     * Returns the calling thread's engine, creating it from config on first use.
+     */
+    public static WaitEngine current() {
+        return CURRENT.get();
+    }
+
+    private static WaitEngine fromConfig() {
+        return new WaitEngine(
+                Duration.ofMillis(ConfigReader.getInt("wait.poll.initial.ms", 50)),
+                Duration.ofMillis(ConfigReader.getInt("wait.poll.max.ms", 500)),
+                Double.parseDouble(ConfigReader.get("wait.poll.backoff", "1.5")),
+                Duration.ofSeconds(ConfigReader.getInt("implicit.wait.seconds", 10)));
+    }
+
+    /**
+     * Polls the condition until it returns a non-null, non-false value or the timeout elapses.
+     * NotFoundException and StaleElementReferenceException count as "not yet", like WebDriverWait.
+     *
+     * @throws TimeoutException if the condition is still unsatisfied at the deadline
+     */
+    public <T> T until(WebDriver driver, By locator, Duration timeout, Function<WebDriver, T> condition) {
+        String key = locator != null ? locator.toString() : String.valueOf(condition);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long sleepNanos = initialPollNanos;
+        long lastFailedPoll = -1;
+        int attempts = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            long pollStart = System.nanoTime();
+            attempts++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    recordSatisfied(key, System.nanoTime() - start, savedNanos(lastFailedPoll, pollStart - start));
+                    return value;
+                }
+                lastError = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            lastFailedPoll = pollStart - start;
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                recordTimeout(key);
+                if (lastError instanceof NotFoundException) {
+                    recordImplicitWaitSaved(compoundedNanos(timeout.toNanos()) - (System.nanoTime() - start));
+                }
+                throw new TimeoutException(String.format(
+                        "Expected condition failed: waiting for %s (tried for %d second(s), %d attempts with adaptive polling)",
+                        condition, timeout.toSeconds(), attempts), lastError);
+            }
+            sleep(Math.min(sleepNanos, remaining));
+            sleepNanos = Math.min(maxPollNanos, (long) (sleepNanos * backoff));
+        }
+    }
+
+    /**
+     * Records time an implicit wait would have blocked for a lookup that found nothing,
+     * e.g. an "is it there right now?" check.
+     */
+    public void recordImplicitWaitSaved(long nanos) {
+        if (nanos > 0) {
+            suiteImplicitSavedNanos += nanos;
+            testImplicitSavedNanos += nanos;
+        }
+    }
+
+    /**
+     * The implicit wait a single "not found" lookup would have cost.
+     */
+    public long implicitWaitNanos() {
+        return implicitWaitNanos;
+    }
+
+    /**
+     * Starts a fresh per-test stats set on this engine.
+     */
+    public void startTest() {
+        test.clear();
+        testImplicitSavedNanos = 0;
+    }
+
+    /**
+     * Returns this engine's per-test summary as JSON: implicit-wait time saved and
+     * time-to-satisfy per locator.
+     */
+    public String testSummaryJson() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("implicitWaitSavedMs", Duration.ofNanos(testImplicitSavedNanos).toMillis());
+        summary.put("locators", summarize(test));
+        return new Json().toJson(summary);
+    }
+
+    /**
+     * Time an absent-element wait takes when every findElement first blocks for the implicit wait:
+     * the explicit timeout rounded up to whole implicit waits.
+     */
+    private long compoundedNanos(long timeoutNanos) {
+        if (implicitWaitNanos <= 0) {
+            return 0;
+        }
+        return Math.max(1, (timeoutNanos + implicitWaitNanos - 1) / implicitWaitNanos) * implicitWaitNanos;
+    }
+
+    /**
+     * Time a fixed 500 ms poll would have added, estimated conservatively: the legacy loop polls at
+     * 0, 500, 1000 ms..., so it could only have succeeded at the first tick after our last failed poll.
+     */
+    private static long savedNanos(long lastFailedPoll, long satisfiedPoll) {
+        if (lastFailedPoll < 0) {
+            return 0;
+        }
+        long legacyPoll = (lastFailedPoll / LEGACY_POLL_NANOS + 1) * LEGACY_POLL_NANOS;
+        return Math.max(0, legacyPoll - satisfiedPoll);
+    }
+
+    private void recordSatisfied(String key, long elapsedNanos, long savedNanos) {
+        suite.computeIfAbsent(key, k -> new LocatorStats()).satisfied(elapsedNanos, savedNanos);
+        test.computeIfAbsent(key, k -> new LocatorStats()).satisfied(elapsedNanos, savedNanos);
+    }
+
+    private void recordTimeout(String key) {
+        suite.computeIfAbsent(key, k -> new LocatorStats()).timeouts++;
+        test.computeIfAbsent(key, k -> new LocatorStats()).timeouts++;
+    }
+
+    /**
+     * Writes suite-wide time-to-satisfy per locator, merged across threads, plus total time saved.
+     */
+    public static void writeSuiteReport(Path file) {
+        Map<String, LocatorStats> totals = new TreeMap<>();
+        for (WaitEngine engine : ALL_ENGINES.values()) {
+            engine.suite.forEach((key, stats) -> totals.computeIfAbsent(key, k -> new LocatorStats()).merge(stats));
+        }
+        long savedNanos = totals.values().stream().mapToLong(stats -> stats.savedNanos).sum();
+        long implicitSavedNanos = ALL_ENGINES.values().stream().mapToLong(engine -> engine.suiteImplicitSavedNanos).sum();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("savedVsFixedPollingMs", Duration.ofNanos(savedNanos).toMillis());
+        report.put("implicitWaitSavedMs", Duration.ofNanos(implicitSavedNanos).toMillis());
+        report.put("locators", summarize(totals));
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            LOG.info("Wait latency report written: {} — {} ms saved vs fixed 500 ms polling, {} ms vs implicit waits",
+                    file.toAbsolutePath(), Duration.ofNanos(savedNanos).toMillis(),
+                    Duration.ofNanos(implicitSavedNanos).toMillis());
+        } catch (IOException e) {
+            LOG.error("Failed to write wait latency report: {}", file, e);
+        }
+    }
+
+    private static Map<String, Object> summarize(Map<String, LocatorStats> stats) {
+        Map<String, Object> summary = new TreeMap<>();
+        stats.forEach((key, value) -> {
+            Map<String, Object> entry = value.histogram.summary();
+            entry.put("timeouts", value.timeouts);
+            entry.put("savedMs", LatencyHistogram.toMillis(Duration.ofNanos(value.savedNanos)));
+            summary.put(key, entry);
+        });
+        return summary;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Time-to-satisfy, timeouts and estimated polling time saved for one locator.
+     */
+    private static final class LocatorStats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long savedNanos;
+        private long timeouts;
+
+        void satisfied(long elapsedNanos, long saved) {
+            histogram.recordNanos(elapsedNanos);
+            savedNanos += saved;
+        }
+
+        void merge(LocatorStats other) {
+            histogram.merge(other.histogram);
+            savedNanos += other.savedNanos;
+            timeouts += other.timeouts;
+        }
+    }
+}
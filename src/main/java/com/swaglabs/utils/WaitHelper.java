@@ -2,21 +2,38 @@ package com.swaglabs.utils;
 
 import com.swaglabs.config.ConfigReader;
 import com.swaglabs.driver.DriverManager;
+import com.swaglabs.pages.PageSnapshot;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * WaitHelper provides explicit wait utilities for reliable element interactions.
+ * All waits run on the calling thread's {@link WaitEngine} (adaptive polling, per-locator metrics).
+ *
+ * Composite waits (allOf, anyOf, firstOf) check several locators in one polling loop, answering
+ * all of them from a single page-source fetch per tick, so the worst case is one timeout rather
+ * than one per element.
  */
 public final class WaitHelper {
 
+    private static final Logger LOG = LoggerFactory.getLogger(WaitHelper.class);
     private static final int DEFAULT_TIMEOUT = ConfigReader.getInt("explicit.wait.seconds", 15);
+    private static final Duration SETTLE_WINDOW = Duration.ofMillis(ConfigReader.getInt("settle.window.ms", 300));
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(ConfigReader.getInt("settle.timeout.seconds", 5));
 
     private WaitHelper() {
         // Prevent instantiation
@@ -33,9 +50,15 @@ public final class WaitHelper {
      * Waits until the element identified by the locator is visible within the given timeout.
      */
     public static WebElement waitForVisibility(By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(
-                DriverManager.getDriver(), Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return until(locator, timeoutSeconds, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Waits on the given driver until the element identified by the locator is visible.
+     */
+    public static WebElement waitForVisibility(WebDriver driver, By locator) {
+        return DriverManager.withoutImplicitWait(() -> WaitEngine.current().until(
+                driver, locator, Duration.ofSeconds(DEFAULT_TIMEOUT), ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     /**
@@ -49,9 +72,7 @@ public final class WaitHelper {
      * Waits until the element is clickable within the given timeout.
      */
     public static WebElement waitForClickability(By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(
-                DriverManager.getDriver(), Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return until(locator, timeoutSeconds, ExpectedConditions.elementToBeClickable(locator));
     }
 
     /**
@@ -65,9 +86,7 @@ public final class WaitHelper {
      * Waits until at least one element matching the locator is present within timeout.
      */
     public static List<WebElement> waitForPresenceOfAll(By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(
-                DriverManager.getDriver(), Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        return until(locator, timeoutSeconds, ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
     }
 
     /**
@@ -81,13 +100,285 @@ public final class WaitHelper {
      * Waits until the element becomes invisible within the given timeout.
      */
     public static boolean waitForInvisibility(By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(
-                DriverManager.getDriver(), Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return until(locator, timeoutSeconds, ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Returns true if at least one matching element exists right now — a single lookup with the
+     * implicit wait at zero, so an absent element answers immediately.
+     */
+    public static boolean isPresentNow(By locator) {
+        boolean present = DriverManager.withoutImplicitWait(
+                () -> !DriverManager.getDriver().findElements(locator).isEmpty());
+        if (!present) {
+            WaitEngine.current().recordImplicitWaitSaved(WaitEngine.current().implicitWaitNanos());
+        }
+        return present;
+    }
+
+    /**
+     * Asserts that no matching element exists, giving it the default timeout to disappear.
+     */
+    public static void assertAbsent(By locator) {
+        assertAbsent(locator, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Asserts that no matching element exists, giving it up to the timeout to disappear.
+     * Returns after one lookup when the element is already gone.
+     *
+     * @throws AssertionError if the element is still present at the deadline
+     */
+    public static void assertAbsent(By locator, int timeoutSeconds) {
+        if (!isPresentNow(locator)) {
+            return;
+        }
+        try {
+            until(locator, timeoutSeconds, driver -> driver.findElements(locator).isEmpty());
+        } catch (TimeoutException e) {
+            throw new AssertionError("Expected no element located by " + locator
+                    + " but it was still present after " + timeoutSeconds + "s", e);
+        }
+    }
+
+    /**
+     * Waits until the element's bounds stop changing, e.g. after a drawer or modal slides in.
+     * Uses the configured stability window and timeout.
+     */
+    public static boolean waitForSettle(By locator) {
+        return waitForSettle(locator, SETTLE_WINDOW, SETTLE_TIMEOUT);
+    }
+
+    /**
+     * Waits until the element's bounds are unchanged for the whole stability window.
+     * Each sample is one getRect round-trip on a cached element, re-found if it goes stale.
+     * A UI that never settles is logged and tolerated — the next wait will surface real failures.
+     *
+     * @return true if the element settled, false if the timeout elapsed first
+     */
+    public static boolean waitForSettle(By locator, Duration window, Duration timeout) {
+        return waitForSettle(DriverManager.getDriver(), locator, window, timeout);
+    }
+
+    /**
+     * Waits on the given driver until the element's bounds are unchanged for the stability window.
+     *
+     * @return true if the element settled, false if the timeout elapsed first
+     */
+    public static boolean waitForSettle(WebDriver driver, By locator, Duration window, Duration timeout) {
+        WebElement[] element = new WebElement[1];
+        Function<WebDriver, Object> bounds = d -> {
+            try {
+                if (element[0] == null) {
+                    element[0] = d.findElement(locator);
+                }
+                return element[0].getRect();
+            } catch (StaleElementReferenceException e) {
+                element[0] = null;
+                throw e;
+            }
+        };
+        return settle(driver, locator, new Settled(locator.toString(), bounds, window), timeout);
+    }
+
+    /**
+     * Waits until the whole screen stops changing: consecutive page sources hash the same
+     * for the configured stability window. Heavier than {@link #waitForSettle(By)}; use when
+     * there is no single element whose movement marks the end of the transition.
+     */
+    public static boolean waitForScreenSettle() {
+        return waitForScreenSettle(DriverManager.getDriver(), SETTLE_WINDOW, SETTLE_TIMEOUT);
+    }
+
+    /**
+     * Waits on the given driver until consecutive page sources hash the same for the window.
+     *
+     * @return true if the screen settled, false if the timeout elapsed first
+     */
+    public static boolean waitForScreenSettle(WebDriver driver, Duration window, Duration timeout) {
+        Function<WebDriver, Object> sourceHash = d -> d.getPageSource().hashCode();
+        return settle(driver, null, new Settled("screen", sourceHash, window), timeout);
+    }
+
+    private static boolean settle(WebDriver driver, By locator, Settled condition, Duration timeout) {
+        try {
+            DriverManager.withoutImplicitWait(() -> WaitEngine.current().until(driver, locator, timeout, condition));
+            return true;
+        } catch (TimeoutException e) {
+            LOG.warn("UI did not settle within {} ms — {}", timeout.toMillis(), condition);
+            return false;
+        }
+    }
+
+    // ==================== Composite Waits ====================
+
+    /**
+     * Waits until every locator is displayed. Returns false on timeout.
+     */
+    public static boolean allOf(Duration timeout, By... locators) {
+        return allOf(DriverManager.getDriver(), timeout, locators);
+    }
+
+    /**
+     * Waits on the given driver until every locator is displayed. Returns false on timeout.
+     */
+    public static boolean allOf(WebDriver driver, Duration timeout, By... locators) {
+        Boolean result = composite(driver, timeout, new Composite<>("all of " + Arrays.toString(locators),
+                screen -> screen.allDisplayed(locators)));
+        return result != null;
+    }
+
+    /**
+     * Waits until at least one locator is displayed. Returns false on timeout.
+     */
+    public static boolean anyOf(Duration timeout, By... locators) {
+        return anyOf(DriverManager.getDriver(), timeout, locators);
+    }
+
+    /**
+     * Waits on the given driver until at least one locator is displayed. Returns false on timeout.
+     */
+    public static boolean anyOf(WebDriver driver, Duration timeout, By... locators) {
+        Boolean result = composite(driver, timeout, new Composite<>("any of " + Arrays.toString(locators),
+                screen -> {
+                    for (By locator : locators) {
+                        if (screen.displayed(locator)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }));
+        return result != null;
+    }
+
+    /**
+     * Waits until one of several screens is showing and returns its key. A screen is showing when
+     * all of its locators are displayed; screens are checked in map iteration order, so pass a
+     * LinkedHashMap to set priorities.
+     *
+     * @return the key of the first screen showing, or null if none appeared before the timeout
+     */
+    public static <K> K firstOf(Duration timeout, Map<K, By[]> screens) {
+        return firstOf(DriverManager.getDriver(), timeout, screens);
+    }
+
+    /**
+     * Waits on the given driver until one of several screens is showing and returns its key, or null.
+     */
+    public static <K> K firstOf(WebDriver driver, Duration timeout, Map<K, By[]> screens) {
+        return composite(driver, timeout, new Composite<>("first of " + screens.keySet(), screen -> {
+            for (Map.Entry<K, By[]> entry : screens.entrySet()) {
+                if (screen.allDisplayed(entry.getValue())) {
+                    return entry.getKey();
+                }
+            }
+            return null;
+        }));
+    }
+
+    private static <T> T composite(WebDriver driver, Duration timeout, Composite<T> condition) {
+        try {
+            return DriverManager.withoutImplicitWait(() -> WaitEngine.current().until(driver, null, timeout, condition));
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+
+    private static <T> T until(By locator, int timeoutSeconds, ExpectedCondition<T> condition) {
+        return until(locator, Duration.ofSeconds(timeoutSeconds), condition);
+    }
+
+    private static <T> T until(By locator, Duration timeout, ExpectedCondition<T> condition) {
+        return DriverManager.withoutImplicitWait(() -> WaitEngine.current().until(
+                DriverManager.getDriver(), locator, timeout, condition));
+    }
+
+    /**
+     * Satisfied once consecutive samples have been equal for the stability window.
+     */
+    private static final class Settled implements ExpectedCondition<Boolean> {
+
+        private final String target;
+        private final Function<WebDriver, Object> sampler;
+        private final Duration window;
+
+        private Object lastSample;
+        private long stableSince = -1;
+
+        Settled(String target, Function<WebDriver, Object> sampler, Duration window) {
+            this.target = target;
+            this.sampler = sampler;
+            this.window = window;
+        }
+
+        @Override
+        public Boolean apply(WebDriver driver) {
+            Object sample = sampler.apply(driver);
+            long now = System.nanoTime();
+            if (stableSince < 0 || !sample.equals(lastSample)) {
+                lastSample = sample;
+                stableSince = now;
+                return false;
+            }
+            return now - stableSince >= window.toNanos();
+        }
+
+        @Override
+        public String toString() {
+            return target + " to stay unchanged for " + window.toMillis() + " ms";
+        }
+    }
+
+    /**
+     * Evaluates several locators against one page source per tick. Locators a {@link PageSnapshot}
+     * cannot answer are looked up on the device, one findElements each.
+     */
+    private static final class Composite<T> implements ExpectedCondition<T> {
+
+        private final String description;
+        private final Function<Screen, T> evaluation;
+
+        Composite(String description, Function<Screen, T> evaluation) {
+            this.description = description;
+            this.evaluation = evaluation;
+        }
+
+        @Override
+        public T apply(WebDriver driver) {
+            return evaluation.apply(new Screen(driver, PageSnapshot.parse(driver.getPageSource())));
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * One tick's view of the screen.
+     */
+    private record Screen(WebDriver driver, PageSnapshot snapshot) {
+
+        boolean displayed(By locator) {
+            if (PageSnapshot.supports(locator)) {
+                return snapshot.isDisplayed(locator);
+            }
+            return driver.findElements(locator).stream().anyMatch(WebElement::isDisplayed);
+        }
+
+        boolean allDisplayed(By... locators) {
+            for (By locator : locators) {
+                if (!displayed(locator)) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     /**
-     * Waits for a given duration (use sparingly — prefer explicit waits).
+     * Waits for a given duration (use sparingly — prefer explicit waits, or
+     * {@link #waitForSettle(By)} after animations).
      */
     public static void staticWait(int milliseconds) {
         try {
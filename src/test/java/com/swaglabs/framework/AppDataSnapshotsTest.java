@@ -0,0 +1,153 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.AppDataSnapshots;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * AppDataSnapshotsTest captures and restores app data against a fake device that serves a
+ * two-file AsyncStorage folder.
+ */
+public class AppDataSnapshotsTest {
+
+    private static final String STATE = "framework-test";
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+    private final List<String> deviceLog = new CopyOnWriteArrayList<>();
+    private volatile String versionName = "2.7.1";
+    private volatile boolean shellAllowed = true;
+    private volatile String folder;
+
+    @BeforeClass
+    @SuppressWarnings("unchecked")
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer();
+        server.onScript("mobile: pullFolder", args -> {
+            deviceLog.add("pull " + args.get("remotePath"));
+            return folder;
+        });
+        server.onScript("mobile: pushFile", args -> {
+            deviceLog.add("push " + args.get("remotePath") + " "
+                    + new String(Base64.getDecoder().decode((String) args.get("payload")), StandardCharsets.UTF_8));
+            return null;
+        });
+        server.onScript("mobile: terminateApp", args -> deviceLog.add("terminate"));
+        server.onScript("mobile: activateApp", args -> deviceLog.add("activate"));
+        server.onScript("mobile: shell", args -> {
+            if (!"run-as".equals(args.get("command"))) {
+                return "  versionCode=27 minSdk=21\n  versionName=" + versionName + "\n";
+            }
+            if (!shellAllowed) {
+                throw new FakeAppiumServer.CommandError("unknown error", "Potentially insecure feature 'adb_shell' has not been enabled");
+            }
+            deviceLog.add("run-as " + String.join(" ", (List<String>) args.get("args")));
+            return "";
+        });
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws IOException {
+        reset();
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeMethod
+    public void reset() throws IOException {
+        versionName = "2.7.1";
+        shellAllowed = true;
+        folder = folder("databases/RKStorage", "cart=[0,1]", "databases/RKStorage-journal", "");
+        AppDataSnapshots.clearMemory();
+        AppDataSnapshots.discard(driver, STATE);
+        deviceLog.clear();
+    }
+
+    @Test(description = "A state is captured with the app stopped and restored into an emptied folder")
+    public void testCaptureAndRestore() throws IOException {
+        Assert.assertTrue(AppDataSnapshots.capture(driver, STATE));
+        Assert.assertEquals(deviceLog, List.of("terminate", "pull @com.swaglabsmobileapp/databases", "activate"));
+        deviceLog.clear();
+
+        // The app moved on and left a WAL behind
+        folder = folder("databases/RKStorage", "cart=[]", "databases/RKStorage-wal", "pending");
+        Assert.assertTrue(AppDataSnapshots.restore(driver, STATE));
+        Assert.assertEquals(deviceLog.subList(0, 2),
+                List.of("terminate", "run-as com.swaglabsmobileapp rm -rf databases"), deviceLog.toString());
+        Assert.assertTrue(deviceLog.containsAll(List.of(
+                "push @com.swaglabsmobileapp/databases/RKStorage cart=[0,1]",
+                "push @com.swaglabsmobileapp/databases/RKStorage-journal ")), deviceLog.toString());
+        Assert.assertEquals(deviceLog.get(deviceLog.size() - 1), "activate");
+        Assert.assertEquals(deviceLog.size(), 5);
+    }
+
+    @Test(description = "Without shell access, stale files the snapshot does not overwrite are truncated")
+    public void testRestoreTruncatesStaleFilesWithoutShell() throws IOException {
+        AppDataSnapshots.capture(driver, STATE);
+        folder = folder("databases/RKStorage", "cart=[]", "databases/RKStorage-wal", "pending");
+        shellAllowed = false;
+        deviceLog.clear();
+
+        Assert.assertTrue(AppDataSnapshots.restore(driver, STATE));
+        Assert.assertEquals(deviceLog, List.of("terminate", "pull @com.swaglabsmobileapp/databases",
+                "push @com.swaglabsmobileapp/databases/RKStorage-wal ",
+                "push @com.swaglabsmobileapp/databases/RKStorage cart=[0,1]",
+                "push @com.swaglabsmobileapp/databases/RKStorage-journal ",
+                "activate"));
+    }
+
+    @Test(description = "Snapshots survive on the host and are keyed by app version")
+    public void testHostCacheKeyedByVersion() {
+        AppDataSnapshots.capture(driver, STATE);
+        AppDataSnapshots.clearMemory();
+        deviceLog.clear();
+
+        Assert.assertTrue(AppDataSnapshots.restore(driver, STATE), "Snapshot should be read back from disk");
+        Assert.assertFalse(deviceLog.contains("pull @com.swaglabsmobileapp/databases"));
+
+        versionName = "2.8.0";
+        AppDataSnapshots.clearMemory();
+        deviceLog.clear();
+        Assert.assertEquals(AppDataSnapshots.appVersion(driver), "2.8.0");
+        Assert.assertFalse(AppDataSnapshots.restore(driver, STATE), "A new build must not restore old data");
+        Assert.assertTrue(deviceLog.isEmpty(), "A miss must not touch the app");
+    }
+
+    private static String folder(String name, String content, String otherName, String otherContent) throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put(name, content);
+        files.put(otherName, otherContent);
+        return Base64.getEncoder().encodeToString(zip(files));
+    }
+
+    private static byte[] zip(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                out.putNextEntry(new ZipEntry(file.getKey()));
+                out.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
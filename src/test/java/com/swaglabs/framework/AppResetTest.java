@@ -0,0 +1,66 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.pages.AppReset;
+import com.swaglabs.pages.AppReset.Cleanliness;
+import com.swaglabs.pages.AppReset.Tier;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * AppResetTest checks which reset tier is tried first and how failures escalate.
+ */
+public class AppResetTest {
+
+    @BeforeMethod
+    @AfterMethod(alwaysRun = true)
+    public void clearTimings() {
+        AppReset.resetTimings();
+    }
+
+    @Test(description = "Each requirement starts at the cheapest tier that satisfies it")
+    public void testCheapestSatisfyingTierFirst() {
+        Assert.assertEquals(AppReset.plan(Cleanliness.SCREEN),
+                List.of(Tier.NAVIGATE, Tier.IN_APP, Tier.RESTART, Tier.CLEAR_DATA, Tier.REINSTALL));
+        Assert.assertEquals(AppReset.plan(Cleanliness.APP_STATE),
+                List.of(Tier.IN_APP, Tier.RESTART, Tier.CLEAR_DATA, Tier.REINSTALL));
+        Assert.assertEquals(AppReset.plan(Cleanliness.APP_DATA), List.of(Tier.CLEAR_DATA, Tier.REINSTALL));
+        Assert.assertEquals(AppReset.plan(Cleanliness.INSTALL), List.of(Tier.REINSTALL));
+    }
+
+    @Test(description = "Measured timings change which tier is cheapest")
+    public void testMeasuredCostsDriveTheChoice() {
+        // In-app reset from deep in checkout turned out slower than a restart
+        AppReset.record(Tier.IN_APP, 9_000_000_000L, true);
+        AppReset.record(Tier.RESTART, 3_000_000_000L, true);
+
+        Assert.assertEquals(AppReset.estimatedCostMs(Tier.RESTART), 3_000, 200);
+        Assert.assertEquals(AppReset.plan(Cleanliness.APP_STATE),
+                List.of(Tier.RESTART, Tier.CLEAR_DATA, Tier.REINSTALL));
+        Assert.assertEquals(AppReset.plan(Cleanliness.PROCESS).get(0), Tier.RESTART);
+    }
+
+    @Test(description = "Per-tier timings and escalations are reported")
+    public void testSuiteReport() throws IOException {
+        AppReset.record(Tier.IN_APP, 2_000_000_000L, false);
+        AppReset.record(Tier.RESTART, 5_000_000_000L, true);
+        Path report = Files.createTempFile("reset-timings", ".json");
+        try {
+            AppReset.writeSuiteReport(report);
+            String json = Files.readString(report);
+
+            Assert.assertTrue(json.contains("\"IN_APP\""), json);
+            Assert.assertTrue(json.contains("\"RESTART\""), json);
+            Assert.assertTrue(json.contains("\"escalations\": 1"), json);
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+}
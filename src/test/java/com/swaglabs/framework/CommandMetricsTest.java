@@ -0,0 +1,112 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.CommandMetrics;
+import com.swaglabs.driver.TimedAndroidDriver;
+import com.swaglabs.utils.LatencyHistogram;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CommandMetricsTest verifies histogram accuracy and that the timed driver records
+ * every command type a driver sends.
+ */
+public class CommandMetricsTest {
+
+    private FakeAppiumServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer().withCommandDelay(20);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test(description = "Percentiles fall within bucket precision")
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100_000; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        Assert.assertEquals(histogram.count(), 100_000);
+        assertWithin(histogram.percentile(50).toNanos() / 1_000, 50_000, 0.07);
+        assertWithin(histogram.percentile(95).toNanos() / 1_000, 95_000, 0.07);
+        assertWithin(histogram.percentile(99).toNanos() / 1_000, 99_000, 0.07);
+        Assert.assertEquals(histogram.max().toNanos() / 1_000, 100_000);
+    }
+
+    @Test(description = "Merged histograms add up")
+    public void testHistogramMerge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.recordMicros(10);
+        b.recordMicros(1_000_000);
+
+        a.merge(b);
+        Assert.assertEquals(a.count(), 2);
+        Assert.assertEquals(a.max().toMillis(), 1_000);
+    }
+
+    @Test(description = "Recent commands keep the last 32 in order across ring wrap-around, and reset per test")
+    public void testRecentCommandsRing() {
+        CommandMetrics.startTest();
+        IllegalStateException failure = new IllegalStateException("boom");
+        for (int i = 0; i < 40; i++) {
+            CommandMetrics.record("command" + i, i * 1_000_000L, i == 39 ? failure : null);
+        }
+
+        List<CommandMetrics.Command> recent = CommandMetrics.recentCommands();
+        Assert.assertEquals(recent.size(), 32);
+        Assert.assertEquals(recent.get(0), new CommandMetrics.Command("command8", 8, null));
+        Assert.assertEquals(recent.get(31), new CommandMetrics.Command("command39", 39, failure));
+
+        CommandMetrics.startTest();
+        Assert.assertTrue(CommandMetrics.recentCommands().isEmpty());
+        CommandMetrics.record("findElement", 2_000_000L);
+        Assert.assertEquals(CommandMetrics.recentCommands(), List.of(new CommandMetrics.Command("findElement", 2, null)));
+    }
+
+    @Test(description = "Timed driver records each W3C command and mobile: extension by name")
+    @SuppressWarnings("unchecked")
+    public void testProxyRecordsCommands() {
+        AndroidDriver driver = new TimedAndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+        try {
+            CommandMetrics.startTest();
+            driver.getPageSource();
+            driver.getPageSource();
+            driver.getOrientation();
+            driver.queryAppState("com.swaglabsmobileapp");
+
+            Map<String, Object> summary = (Map<String, Object>) new Json()
+                    .toType(CommandMetrics.testSummaryJson(), Map.class);
+            Assert.assertTrue(summary.containsKey("getPageSource"), "Page source should be recorded: " + summary);
+            Assert.assertEquals(((Map<String, Object>) summary.get("getPageSource")).get("count"), 2L);
+            Assert.assertTrue(summary.containsKey("getScreenOrientation"), "Orientation should be recorded: " + summary);
+            Assert.assertTrue(summary.containsKey("mobile: queryAppState"), "mobile: extension should be recorded by name");
+
+            double p50 = ((Number) ((Map<String, Object>) summary.get("getPageSource")).get("p50Ms")).doubleValue();
+            Assert.assertTrue(p50 >= 20, "Recorded latency should include the server delay, was " + p50);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static void assertWithin(long actual, long expected, double tolerance) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected * tolerance,
+                "Expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,103 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.DeviceRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DeviceRegistryTest covers device parsing, leasing, and how wall-clock time scales
+ * when worker threads share the registry.
+ */
+public class DeviceRegistryTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceRegistryTest.class);
+    private static final String TWO_DEVICES =
+            "emulator-5554|http://127.0.0.1:4723|8200|9515, emulator-5556|http://127.0.0.1:4725|8201|9516";
+
+    @Test(description = "Device entries are parsed with optional ports")
+    public void testParseDevices() {
+        DeviceRegistry registry = DeviceRegistry.parse(TWO_DEVICES + ",emulator-5558|http://127.0.0.1:4727");
+
+        Assert.assertEquals(registry.size(), 3);
+        DeviceRegistry.Device second = registry.devices().get(1);
+        Assert.assertEquals(second.udid(), "emulator-5556");
+        Assert.assertEquals(second.appiumUrl(), "http://127.0.0.1:4725");
+        Assert.assertEquals(second.systemPort(), Integer.valueOf(8201));
+        Assert.assertEquals(second.chromedriverPort(), Integer.valueOf(9516));
+        Assert.assertNull(registry.devices().get(2).systemPort());
+    }
+
+    @Test(description = "Malformed entries are rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testRejectMalformedEntry() {
+        DeviceRegistry.parse("emulator-5554");
+    }
+
+    @Test(description = "A device cannot be leased twice until released")
+    public void testLeaseIsExclusive() {
+        DeviceRegistry registry = DeviceRegistry.parse(TWO_DEVICES);
+
+        DeviceRegistry.Device first = registry.lease(Duration.ofSeconds(1));
+        DeviceRegistry.Device second = registry.lease(Duration.ofSeconds(1));
+        Assert.assertNotEquals(first, second);
+        Assert.assertNull(registry.tryLease(), "All devices should be leased");
+
+        registry.release(first);
+        Assert.assertEquals(registry.tryLease(), first);
+    }
+
+    @Test(description = "Lease times out when every device is busy", expectedExceptions = IllegalStateException.class)
+    public void testLeaseTimesOut() {
+        DeviceRegistry registry = DeviceRegistry.parse("emulator-5554|http://127.0.0.1:4723");
+        registry.lease(Duration.ofMillis(50));
+        registry.lease(Duration.ofMillis(50));
+    }
+
+    @Test(description = "Wall-clock time scales with the number of devices")
+    public void testWallClockScalesWithDevices() throws Exception {
+        long oneDevice = runClasses(DeviceRegistry.parse("emulator-5554|http://127.0.0.1:4723"), 4, 150);
+        long twoDevices = runClasses(DeviceRegistry.parse(TWO_DEVICES), 4, 150);
+
+        LOG.info("4 classes × 150 ms — 1 device: {} ms, 2 devices: {} ms", oneDevice, twoDevices);
+        Assert.assertTrue(twoDevices < oneDevice * 0.7,
+                "Two devices should take close to half the time of one device");
+    }
+
+    /**
+     * Simulates test classes on a worker pool sized to the registry; each class holds a device lease.
+     */
+    private long runClasses(DeviceRegistry registry, int classes, long classMillis) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(registry.size());
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < classes; i++) {
+                futures.add(workers.submit(() -> {
+                    DeviceRegistry.Device device = registry.lease(Duration.ofSeconds(5));
+                    try {
+                        Thread.sleep(classMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        registry.release(device);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,83 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.CommandMetrics;
+import com.swaglabs.listeners.FailureClassifier;
+import com.swaglabs.listeners.FailureClassifier.FailureClass;
+import com.swaglabs.listeners.RetryAnalyzer;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.internal.TestResult;
+
+import java.net.ConnectException;
+import java.util.List;
+
+/**
+ * FailureClassifierTest checks which failures count as infrastructure, and that only those are
+ * retried.
+ */
+public class FailureClassifierTest {
+
+    @Test(description = "Lost sessions and transport errors are infrastructure, assertions are product")
+    public void testClassifiesThrowables() {
+        assertClass(new NoSuchSessionException("invalid session id"), FailureClass.INFRASTRUCTURE);
+        assertClass(new WebDriverException(new ConnectException("Connection refused")), FailureClass.INFRASTRUCTURE);
+        assertClass(new WebDriverException("An unknown server-side error occurred while processing the command. "
+                + "Original error: 'GET /source' cannot be proxied to UiAutomator2 server because the "
+                + "instrumentation process is not running (probably crashed)"), FailureClass.INFRASTRUCTURE);
+
+        assertClass(new AssertionError("Cart badge should show 2 expected [2] but found [1]"), FailureClass.PRODUCT);
+        assertClass(new NoSuchElementException("test-Finish"), FailureClass.PRODUCT);
+        assertClass(new TimeoutException("Expected condition failed: waiting for visibility of test-Cart"),
+                FailureClass.PRODUCT);
+    }
+
+    @Test(description = "An assertion after a swallowed session error is blamed on the session")
+    public void testUsesCommandHistory() {
+        List<CommandMetrics.Command> history = List.of(
+                new CommandMetrics.Command("findElement", 12, null),
+                new CommandMetrics.Command("findElement", 3, new NoSuchSessionException("invalid session id")),
+                new CommandMetrics.Command("getElementText", 40, new NoSuchElementException("gone")));
+
+        FailureClassifier.Classification classification =
+                FailureClassifier.classify(new AssertionError("Products page should be displayed"), history);
+
+        Assert.assertEquals(classification.failureClass(), FailureClass.INFRASTRUCTURE);
+        Assert.assertTrue(classification.reason().startsWith("findElement failed"), classification.reason());
+        Assert.assertEquals(FailureClassifier.classify(new AssertionError("x"), history.subList(0, 1)).failureClass(),
+                FailureClass.PRODUCT);
+    }
+
+    @Test(description = "Product failures are not retried, infrastructure failures up to max.retry.count")
+    public void testRetriesOnlyInfrastructure() {
+        Assert.assertEquals(retries(new AssertionError("Total should be $32.39")), 0);
+        Assert.assertEquals(retries(new NoSuchSessionException("invalid session id")), 2);
+    }
+
+    /**
+     * How many times one RetryAnalyzer lets a test that keeps failing the same way run again.
+     */
+    private static int retries(Throwable failure) {
+        RetryAnalyzer analyzer = new RetryAnalyzer();
+        int retries = 0;
+        while (retries < 10) {
+            ITestResult result = TestResult.newEmptyTestResult();
+            result.setThrowable(failure);
+            if (!analyzer.retry(result)) {
+                break;
+            }
+            retries++;
+        }
+        return retries;
+    }
+
+    private static void assertClass(Throwable failure, FailureClass expected) {
+        FailureClassifier.Classification classification = FailureClassifier.classify(failure, List.of());
+        Assert.assertEquals(classification.failureClass(), expected, classification.toString());
+    }
+}
@@ -0,0 +1,319 @@
+package com.swaglabs.framework;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FakeAppiumServer is a minimal in-process W3C WebDriver endpoint for framework tests.
+ * It creates sessions with a configurable start-up delay, answers the handful of commands
+ * the framework issues, and counts every command so tests can measure round-trips.
+ */
+public class FakeAppiumServer implements AutoCloseable {
+
+    private static final Json JSON = new Json();
+
+    static {
+        // Without TCP_NODELAY every small response waits ~40 ms on delayed ACKs, which would swamp
+        // the client-side transport costs the framework tests measure
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicInteger> commandCounts = new ConcurrentHashMap<>();
+    private final Map<String, Function<Map<String, Object>, Object>> handlers = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionsCreated = new AtomicInteger();
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final Map<String, String> lastHeaders = new ConcurrentHashMap<>();
+
+    private volatile long sessionStartDelayMs;
+    private volatile long commandDelayMs;
+    private volatile boolean gzip;
+
+    public FakeAppiumServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        registerDefaults();
+        server.start();
+    }
+
+    public URL url() {
+        try {
+            return new URL("http://127.0.0.1:" + server.getAddress().getPort());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public FakeAppiumServer withSessionStartDelay(long millis) {
+        this.sessionStartDelayMs = millis;
+        return this;
+    }
+
+    public FakeAppiumServer withCommandDelay(long millis) {
+        this.commandDelayMs = millis;
+        return this;
+    }
+
+    /**
+     * Gzips responses for clients that send {@code Accept-Encoding: gzip}, like a cloud hub behind a proxy.
+     */
+    public FakeAppiumServer withGzip() {
+        this.gzip = true;
+        return this;
+    }
+
+    /**
+     * Registers the response for a session command, e.g. {@code "GET source"} or {@code "POST element/click"}.
+     * Element commands are matched with the element id replaced by {@code *}.
+     */
+    public FakeAppiumServer on(String command, Function<Map<String, Object>, Object> handler) {
+        handlers.put(command, handler);
+        return this;
+    }
+
+    /**
+     * Registers the response for a {@code mobile:} extension executed through execute/sync.
+     */
+    public FakeAppiumServer onScript(String script, Function<Map<String, Object>, Object> handler) {
+        handlers.put("SCRIPT " + script, handler);
+        return this;
+    }
+
+    /**
+     * Forgets all live sessions so that every further command fails with "invalid session id".
+     */
+    public void killSessions() {
+        sessions.clear();
+    }
+
+    public int sessionsCreated() {
+        return sessionsCreated.get();
+    }
+
+    public int liveSessions() {
+        return sessions.size();
+    }
+
+    public int commandCount(String command) {
+        AtomicInteger count = commandCounts.get(command);
+        return count == null ? 0 : count.get();
+    }
+
+    public int totalCommands() {
+        return commandCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * Number of distinct client connections seen, i.e. how well the client reuses keep-alive connections.
+     */
+    public int connectionsOpened() {
+        return connections.size();
+    }
+
+    /**
+     * Response body bytes written to the wire, after compression.
+     */
+    public long bytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Value of the given request header on the most recent request, or null.
+     */
+    public String lastRequestHeader(String name) {
+        return lastHeaders.get(name.toLowerCase());
+    }
+
+    public void resetCounts() {
+        commandCounts.clear();
+        connections.clear();
+        bytesSent.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void registerDefaults() {
+        on("GET orientation", body -> "PORTRAIT");
+        on("POST orientation", body -> null);
+        on("POST timeouts", body -> null);
+        on("GET window/rect", body -> Map.of("x", 0, "y", 0, "width", 1080, "height", 2400));
+        on("GET source", body -> "<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy/>");
+        on("POST actions", body -> null);
+        on("POST appium/device/app_state", body -> 4);
+        onScript("mobile: queryAppState", args -> 4);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, Object> body = readBody(exchange);
+            connections.add(exchange.getRemoteAddress().toString());
+            lastHeaders.clear();
+            exchange.getRequestHeaders().forEach((name, values) -> lastHeaders.put(name.toLowerCase(), values.get(0)));
+
+            if (path.equals("/session") && method.equals("POST")) {
+                sleep(sessionStartDelayMs);
+                String id = UUID.randomUUID().toString();
+                sessions.add(id);
+                sessionsCreated.incrementAndGet();
+                respond(exchange, 200, Map.of("sessionId", id, "capabilities", Map.of(
+                        "platformName", "Android", "automationName", "UiAutomator2", "sessionId", id)));
+                return;
+            }
+
+            String[] parts = path.split("/", 4);
+            if (parts.length < 3 || !parts[1].equals("session")) {
+                respond(exchange, 404, error("unknown command", path));
+                return;
+            }
+
+            String sessionId = parts[2];
+            if (!sessions.contains(sessionId)) {
+                respond(exchange, 404, error("invalid session id", "No session " + sessionId));
+                return;
+            }
+
+            if (parts.length == 3 && method.equals("DELETE")) {
+                sessions.remove(sessionId);
+                respond(exchange, 200, null);
+                return;
+            }
+
+            String rest = parts.length == 4 ? parts[3].replaceAll("element/[^/]+", "element/*") : "";
+            String command = method + " " + rest;
+            commandCounts.computeIfAbsent(command, k -> new AtomicInteger()).incrementAndGet();
+            sleep(commandDelayMs);
+
+            Function<Map<String, Object>, Object> handler = handlers.get(command);
+            if (command.equals("POST execute/sync")) {
+                handler = handlers.get("SCRIPT " + body.get("script"));
+                body = firstArg(body);
+            }
+            if (handler == null) {
+                respond(exchange, 200, null);
+                return;
+            }
+            Object value;
+            try {
+                value = handler.apply(body);
+            } catch (CommandError e) {
+                respond(exchange, e.status(), error(e.error, e.getMessage()));
+                return;
+            }
+            respond(exchange, 200, value);
+        } catch (RuntimeException e) {
+            respond(exchange, 500, error("unknown error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> firstArg(Map<String, Object> body) {
+        Object args = body.get("args");
+        if (args instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        return Map.of();
+    }
+
+    private static Map<String, Object> error(String error, String message) {
+        return Map.of("error", error, "message", message, "stacktrace", "");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String raw = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (raw.isBlank()) {
+                return Map.of();
+            }
+            Object parsed = JSON.toType(raw, Object.class);
+            return parsed instanceof Map ? (Map<String, Object>) parsed : Map.of();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object value) throws IOException {
+        Map<String, Object> envelope = new HashMap<>();
+        envelope.put("value", value);
+        byte[] bytes = JSON.toJson(envelope).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        bytesSent.addAndGet(bytes.length);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Thrown by a handler to answer with a W3C error, e.g. {@code "stale element reference"}.
+     */
+    public static final class CommandError extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String error;
+
+        public CommandError(String error, String message) {
+            super(message);
+            this.error = error;
+        }
+
+        private int status() {
+            return switch (error) {
+                case "invalid argument" -> 400;
+                case "unknown error" -> 500;
+                default -> 404;
+            };
+        }
+    }
+}
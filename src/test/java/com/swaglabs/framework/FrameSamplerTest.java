@@ -0,0 +1,127 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.utils.FrameRing;
+import com.swaglabs.utils.FrameSampler;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FrameSamplerTest checks the off-heap frame ring's bounds and the sampler's GIF and command
+ * latency overhead against the fake Appium server.
+ */
+public class FrameSamplerTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FrameSamplerTest.class);
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        String[] screens = {
+                Base64.getEncoder().encodeToString(ScreenshotStoreTest.screen("PRODUCTS", "12:00", 6)),
+                Base64.getEncoder().encodeToString(ScreenshotStoreTest.screen("CART", "12:00", 2)),
+                Base64.getEncoder().encodeToString(ScreenshotStoreTest.screen("CHECKOUT", "12:00", 1))};
+        AtomicInteger next = new AtomicInteger();
+        server = new FakeAppiumServer().withCommandDelay(10);
+        server.on("GET screenshot", body -> screens[Math.floorMod(next.getAndIncrement(), screens.length)]);
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        driver.quit();
+        server.close();
+    }
+
+    @Test(description = "The ring keeps the newest frames in a fixed buffer and refuses oversized ones")
+    public void testRingIsBounded() {
+        FrameRing ring = new FrameRing(3, 8);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(ring.add(new byte[]{(byte) i}, i));
+        }
+        Assert.assertFalse(ring.add(new byte[9], 5));
+
+        List<FrameRing.Frame> frames = ring.frames();
+        Assert.assertEquals(frames.stream().map(frame -> frame.bytes()[0]).toList(), List.of((byte) 2, (byte) 3, (byte) 4));
+        Assert.assertEquals(ring.refused(), 1);
+        Assert.assertEquals(ring.capacityBytes(), 24);
+
+        ring.clear();
+        Assert.assertTrue(ring.frames().isEmpty());
+    }
+
+    @Test(description = "A failed test gets a GIF of the last frames; a passed one leaves nothing behind")
+    public void testGifOnFailureOnly() throws Exception {
+        FrameSampler sampler = new FrameSampler(Duration.ofMillis(50), 1, 270, 0.6f, 48 * 1024);
+
+        sampler.start(driver);
+        Thread.sleep(300);
+        sampler.discard();
+        Assert.assertTrue(sampler.frames().isEmpty());
+
+        sampler.start(driver);
+        Thread.sleep(1_500);
+        int held = sampler.frames().size();
+        byte[] gif = sampler.stop();
+
+        Assert.assertTrue(held > 0 && held <= 20, "Ring should hold at most 1 s of frames, held " + held);
+        Assert.assertNotNull(gif);
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(gif))) {
+            ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+            reader.setInput(in);
+            Assert.assertTrue(reader.getNumImages(true) >= held - 1, "GIF should contain the held frames");
+            Assert.assertEquals(reader.getWidth(0), 270);
+            reader.dispose();
+        }
+        Assert.assertEquals(sampler.summary().get("gifs"), 1L);
+    }
+
+    @Test(description = "Sampling in the background adds little to the test thread's command latency")
+    public void testCommandLatencyOverhead() throws Exception {
+        double baseline = meanPageSourceMillis(40);
+
+        FrameSampler sampler = new FrameSampler(Duration.ofMillis(100), 2, 270, 0.6f, 48 * 1024);
+        sampler.start(driver);
+        double sampling;
+        try {
+            sampling = meanPageSourceMillis(40);
+        } finally {
+            sampler.discard();
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> capture = (Map<String, Object>) sampler.summary().get("captureLatency");
+        LOG.info("getPageSource mean {} ms without sampling, {} ms while sampling — capture latency {}",
+                String.format("%.1f", baseline), String.format("%.1f", sampling), capture);
+        Assert.assertTrue((long) sampler.summary().get("captured") > 0, "Sampler should have captured frames");
+        Assert.assertTrue(sampling < baseline + 15, "Sampling overhead too high: " + baseline + " → " + sampling);
+    }
+
+    private double meanPageSourceMillis(int commands) {
+        long start = System.nanoTime();
+        for (int i = 0; i < commands; i++) {
+            driver.getPageSource();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / commands;
+    }
+}
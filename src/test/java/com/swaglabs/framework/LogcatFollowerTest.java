@@ -0,0 +1,157 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.LogcatFollower;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * LogcatFollowerTest streams logcat lines from the fake server and checks the skipped backlog,
+ * the package and level filters, the final drain on failure, and the ring bound.
+ */
+public class LogcatFollowerTest {
+
+    private static final String APP = "com.swaglabsmobileapp";
+
+    private final Queue<String> logcat = new ConcurrentLinkedQueue<>();
+    private volatile boolean logcatSupported = true;
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer().withCommandDelay(5);
+        server.on("POST se/log", body -> drain());
+        server.on("POST log", body -> drain());
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeMethod
+    public void clearLog() {
+        logcat.clear();
+        logcatSupported = true;
+        server.resetCounts();
+    }
+
+    @Test(description = "Only the app's lines at or above the level, logged after start, are kept")
+    public void testFiltersAppLines() throws Exception {
+        logcat.add(line(612, 'I', "ActivityManager", "Start proc 4242:" + APP + "/u0a150 for activity"));
+        logcat.add(line(4242, 'E', "ReactNativeJS", "error from a previous test"));
+
+        LogcatFollower follower = new LogcatFollower(APP, "I", Duration.ofMillis(100), 100);
+        follower.start(driver);
+        awaitEmptyQueue();
+
+        logcat.add(line(4242, 'I', "ReactNativeJS", "Running \"SwagLabsMobileApp\""));
+        logcat.add(line(4242, 'D', "ReactNativeJS", "debug noise"));
+        logcat.add(line(1000, 'W', "SurfaceFlinger", "unrelated"));
+        logcat.add(line(1000, 'E', "AndroidRuntime", "Process: " + APP + ", PID: 4242"));
+        // Logged right before the failure, picked up by the final drain rather than a poll
+        logcat.add(line(4242, 'E', "ReactNativeJS", "TypeError: undefined is not an object"));
+
+        List<String> lines = follower.stop();
+        Assert.assertEquals(lines.size(), 3, "Kept lines: " + lines);
+        Assert.assertTrue(lines.get(0).contains("Running"));
+        Assert.assertTrue(lines.get(1).contains("Process: " + APP));
+        Assert.assertTrue(lines.get(2).contains("TypeError"));
+    }
+
+    @Test(description = "The ring keeps the newest lines; a passed test's lines are dropped")
+    public void testRingIsBounded() throws Exception {
+        LogcatFollower follower = new LogcatFollower(APP, "V", Duration.ofMillis(50), 5);
+        follower.start(driver);
+        awaitEmptyQueue();
+        for (int i = 0; i < 8; i++) {
+            logcat.add(line(1, 'I', "ReactNativeJS", APP + " line " + i));
+        }
+        awaitEmptyQueue();
+        Thread.sleep(100);
+
+        List<String> lines = follower.lines();
+        Assert.assertEquals(lines.size(), 5);
+        Assert.assertTrue(lines.get(0).endsWith("line 3"));
+        Assert.assertEquals(follower.dropped(), 3);
+
+        follower.discard();
+        Assert.assertTrue(follower.lines().isEmpty());
+    }
+
+    @Test(description = "Starting and stopping never waits on a full log read")
+    public void testStartDoesNotBlock() {
+        server.withCommandDelay(300);
+        try {
+            LogcatFollower follower = new LogcatFollower(APP, "I", Duration.ofMillis(1000), 10);
+            long start = System.nanoTime();
+            follower.start(driver);
+            long startMillis = (System.nanoTime() - start) / 1_000_000;
+            follower.discard();
+
+            Assert.assertTrue(startMillis < 100, "start() took " + startMillis + " ms");
+        } finally {
+            server.withCommandDelay(5);
+        }
+    }
+
+    @Test(description = "A session without the logcat log type is not polled again after the first refusal")
+    public void testUnsupportedLogTypeStopsPolling() throws Exception {
+        logcatSupported = false;
+        LogcatFollower follower = new LogcatFollower(APP, "I", Duration.ofMillis(50), 100);
+        follower.start(driver);
+        Thread.sleep(400);
+        Assert.assertEquals(logReads(), 1, "Only the first read should reach the server");
+
+        Assert.assertTrue(follower.stop().isEmpty());
+        follower.start(driver);
+        Thread.sleep(200);
+        follower.discard();
+        Assert.assertEquals(logReads(), 1, "The same session should not be followed again");
+    }
+
+    private int logReads() {
+        return server.commandCount("POST se/log") + server.commandCount("POST log");
+    }
+
+    private List<Map<String, Object>> drain() {
+        if (!logcatSupported) {
+            throw new FakeAppiumServer.CommandError("invalid argument",
+                    "Unsupported log type 'logcat' for this device. Supported types: {\"server\":\"Appium server logs\"}");
+        }
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (String message = logcat.poll(); message != null; message = logcat.poll()) {
+            entries.add(Map.of("timestamp", System.currentTimeMillis(), "level", "ALL", "message", message));
+        }
+        return entries;
+    }
+
+    private void awaitEmptyQueue() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!logcat.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(20);
+    }
+
+    private static String line(int pid, char level, String tag, String message) {
+        return String.format("10-17 04:00:00.123  %5d  %5d %c %s: %s", pid, pid, level, tag, message);
+    }
+}
@@ -0,0 +1,50 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.pages.NavigationGraph;
+import com.swaglabs.pages.Screen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * NavigationGraphTest checks path planning between screens; no actions are executed.
+ */
+public class NavigationGraphTest {
+
+    private final NavigationGraph graph = NavigationGraph.standard("standard_user", "secret_sauce");
+
+    @Test(description = "The cheapest path is found between any two known screens")
+    public void testShortestPaths() {
+        Assert.assertEquals(steps(graph.shortestPath(Screen.PRODUCTS, Screen.LOGIN)), List.of("openMenu", "tapLogout"));
+        Assert.assertEquals(steps(graph.shortestPath(Screen.CHECKOUT_INFO, Screen.PRODUCTS)),
+                List.of("tapCancel", "tapContinueShopping"));
+        Assert.assertEquals(steps(graph.shortestPath(Screen.CHECKOUT_COMPLETE, Screen.CART)),
+                List.of("tapBackHome", "tapCartIcon"));
+        Assert.assertEquals(steps(graph.shortestPath(Screen.LOGIN, Screen.CHECKOUT_INFO)),
+                List.of("login", "tapCartIcon", "tapCheckout"));
+        Assert.assertEquals(graph.shortestPath(Screen.CART, Screen.CART), List.of());
+    }
+
+    @Test(description = "A clean path goes through the menu's Reset App State")
+    public void testCleanPathResetsAppState() {
+        Assert.assertEquals(steps(graph.shortestCleanPath(Screen.PRODUCTS, Screen.PRODUCTS)),
+                List.of("openMenu", "tapResetAppState", "tapAllItems"));
+        Assert.assertEquals(steps(graph.shortestCleanPath(Screen.MENU, Screen.LOGIN)),
+                List.of("tapResetAppState", "tapLogout"));
+        Assert.assertTrue(NavigationGraph.cost(graph.shortestCleanPath(Screen.CART, Screen.PRODUCTS))
+                > NavigationGraph.cost(graph.shortestPath(Screen.CART, Screen.PRODUCTS)));
+    }
+
+    @Test(description = "An unknown screen has no path, so the caller falls back to a hard reset")
+    public void testUnknownScreenHasNoPath() {
+        Assert.assertNull(graph.shortestPath(Screen.UNKNOWN, Screen.PRODUCTS));
+        Assert.assertNull(graph.shortestCleanPath(Screen.UNKNOWN, Screen.LOGIN));
+    }
+
+    private static List<String> steps(List<NavigationGraph.Edge> path) {
+        Assert.assertNotNull(path, "Expected a path");
+        return path.stream().map(NavigationGraph.Edge::name).toList();
+    }
+}
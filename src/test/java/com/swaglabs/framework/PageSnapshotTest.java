@@ -0,0 +1,244 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.pages.BasePage;
+import com.swaglabs.pages.PageSnapshot;
+import com.swaglabs.utils.WaitHelper;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PageSnapshotTest checks the page-source index and that multi-element checks on
+ * {@link BasePage} and list extraction cost one page-source round-trip until a mutating action
+ * invalidates it, and that composite waits share one polling loop.
+ */
+public class PageSnapshotTest {
+
+    static final String MENU_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout class=\"android.widget.FrameLayout\" displayed=\"true\">"
+            + "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"test-ALL ITEMS\" displayed=\"true\">"
+            + "<android.widget.TextView class=\"android.widget.TextView\" text=\"ALL ITEMS\" displayed=\"true\"/>"
+            + "</android.view.ViewGroup>"
+            + "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"test-WEBVIEW\" displayed=\"true\"/>"
+            + "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"test-ABOUT\" displayed=\"true\"/>"
+            + "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"test-LOGOUT\" displayed=\"true\"/>"
+            + "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"test-RESET APP STATE\" displayed=\"true\"/>"
+            + "<android.widget.EditText class=\"android.widget.EditText\" resource-id=\"com.swaglabsmobileapp:id/search\""
+            + " text=\"\" displayed=\"false\"/>"
+            + "</android.widget.FrameLayout></hierarchy>";
+
+    private static final By[] MENU_OPTIONS = {
+            AppiumBy.accessibilityId("test-ALL ITEMS"),
+            AppiumBy.accessibilityId("test-WEBVIEW"),
+            AppiumBy.accessibilityId("test-ABOUT"),
+            AppiumBy.accessibilityId("test-LOGOUT"),
+            AppiumBy.accessibilityId("test-RESET APP STATE")
+    };
+
+    private static final List<String> PRODUCTS = List.of("Sauce Labs Backpack", "Sauce Labs Bike Light",
+            "Sauce Labs Bolt T-Shirt", "Sauce Labs Fleece Jacket", "Sauce Labs Onesie", "Test.allTheThings() T-Shirt");
+
+    private FakeAppiumServer server;
+    private volatile String pageSource = MENU_SOURCE;
+    private AndroidDriver driver;
+    private SnapshotPage page;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer();
+        server.on("GET source", body -> pageSource);
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+        page = new SnapshotPage(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeMethod
+    public void resetSnapshot() {
+        BasePage.invalidateSnapshot();
+        pageSource = MENU_SOURCE;
+        server.resetCounts();
+    }
+
+    @Test(description = "Index answers accessibility id, id, class and simple XPath locators")
+    public void testIndexLookups() {
+        PageSnapshot snapshot = PageSnapshot.parse(MENU_SOURCE);
+
+        Assert.assertEquals(snapshot.size(), 8);
+        Assert.assertTrue(snapshot.isDisplayed(AppiumBy.accessibilityId("test-LOGOUT")));
+        Assert.assertFalse(snapshot.isDisplayed(AppiumBy.accessibilityId("test-Menu")));
+        Assert.assertEquals(snapshot.findAll(By.className("android.view.ViewGroup")).size(), 5);
+        Assert.assertTrue(snapshot.isDisplayed(By.xpath("//android.widget.TextView[@text='ALL ITEMS']")));
+        Assert.assertFalse(snapshot.isDisplayed(By.xpath("//android.widget.Button[@text='ALL ITEMS']")));
+
+        Assert.assertNotNull(snapshot.find(AppiumBy.id("search")), "Id without package prefix should match");
+        Assert.assertFalse(snapshot.isDisplayed(AppiumBy.id("com.swaglabsmobileapp:id/search")),
+                "Hidden nodes are present but not displayed");
+        Assert.assertNull(snapshot.find(AppiumBy.id("search")).text(), "Empty text is stored as null");
+    }
+
+    @Test(description = "Locators that need the device are reported as unsupported")
+    public void testUnsupportedLocators() {
+        Assert.assertFalse(PageSnapshot.supports(By.xpath("//android.view.ViewGroup[@content-desc='test-Cart']/android.widget.TextView")));
+        Assert.assertFalse(PageSnapshot.supports(AppiumBy.androidUIAutomator("new UiSelector().text(\"x\")")));
+        Assert.assertTrue(PageSnapshot.supports(AppiumBy.accessibilityId("test-Menu")));
+    }
+
+    @Test(description = "Five menu checks cost one page-source round-trip")
+    public void testMultiElementCheckIsOneRoundTrip() {
+        Assert.assertTrue(page.areDisplayed(MENU_OPTIONS));
+        Assert.assertTrue(page.areDisplayed(MENU_OPTIONS));
+
+        Assert.assertEquals(server.commandCount("GET source"), 1, "Second check should be answered from the cache");
+        Assert.assertEquals(server.commandCount("POST element"), 0, "No element lookups should be sent");
+    }
+
+    @Test(description = "A mutating action invalidates the cached snapshot")
+    public void testSwipeInvalidatesSnapshot() {
+        page.areDisplayed(MENU_OPTIONS);
+        page.swipe(500, 1500, 500, 500);
+        page.areDisplayed(MENU_OPTIONS);
+
+        Assert.assertEquals(server.commandCount("GET source"), 2);
+    }
+
+    @Test(description = "Tapping a looked-up element invalidates the cached snapshot")
+    public void testElementTapInvalidatesSnapshot() {
+        By title = AppiumBy.accessibilityId("test-Item title");
+        pageSource = itemSource(PRODUCTS.subList(0, 2));
+        Assert.assertEquals(page.getAllTexts(title), PRODUCTS.subList(0, 2));
+
+        server.on("POST element", body -> Map.of("element-6066-11e4-a52e-4f735466cecf", "remove-0"));
+        server.on("POST element/*/click", body -> {
+            pageSource = itemSource(PRODUCTS.subList(1, 2));
+            return null;
+        });
+        page.tap(driver.findElement(AppiumBy.accessibilityId("test-REMOVE")));
+
+        Assert.assertEquals(page.getAllTexts(title), PRODUCTS.subList(1, 2), "The removed item should be gone");
+        Assert.assertEquals(server.commandCount("GET source"), 2);
+    }
+
+    @Test(description = "A missing element is polled with fresh snapshots until the timeout")
+    public void testMissingElementTimesOut() {
+        long start = System.nanoTime();
+        Assert.assertFalse(page.areDisplayed(AppiumBy.accessibilityId("test-Menu")));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Assert.assertTrue(elapsedMs >= 5_000, "Should wait like isDisplayed, waited " + elapsedMs);
+        Assert.assertTrue(server.commandCount("GET source") > 2, "Each poll should fetch a fresh page source");
+    }
+
+    @Test(description = "List texts and bounds come from one page source regardless of item count")
+    public void testBulkExtractionIsOneRoundTrip() {
+        pageSource = itemSource(PRODUCTS);
+
+        By title = AppiumBy.accessibilityId("test-Item title");
+        Assert.assertEquals(page.getAllTexts(title), PRODUCTS);
+        Assert.assertEquals(page.extractAll(title).get(1).rect(), new Rectangle(40, 700, 60, 480));
+
+        Assert.assertEquals(server.commandCount("GET source"), 1);
+        Assert.assertEquals(server.totalCommands(), 1, "No per-item getText round-trips should be sent");
+    }
+
+    @Test(description = "Composite waits answer every locator from one page source per tick")
+    public void testCompositeWaitsShareOnePollingLoop() {
+        Map<String, By[]> screens = new LinkedHashMap<>();
+        screens.put("login", new By[]{AppiumBy.accessibilityId("test-Username"), AppiumBy.accessibilityId("test-LOGIN")});
+        screens.put("menu", MENU_OPTIONS);
+
+        Assert.assertEquals(WaitHelper.firstOf(driver, Duration.ofSeconds(2), screens), "menu");
+        Assert.assertTrue(WaitHelper.anyOf(driver, Duration.ofSeconds(2),
+                AppiumBy.accessibilityId("test-Username"), AppiumBy.accessibilityId("test-LOGOUT")));
+        Assert.assertEquals(server.commandCount("GET source"), 2);
+
+        server.resetCounts();
+        long start = System.nanoTime();
+        Assert.assertFalse(WaitHelper.allOf(driver, Duration.ofSeconds(1),
+                AppiumBy.accessibilityId("test-Username"), AppiumBy.accessibilityId("test-LOGIN")));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Assert.assertTrue(elapsedMs < 1_500, "Two missing elements should cost one timeout, took " + elapsedMs);
+        Assert.assertEquals(server.commandCount("POST element"), 0, "No per-element lookups should be sent");
+    }
+
+    /**
+     * A list of product title rows, one 400 px apart.
+     */
+    private static String itemSource(List<String> titles) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy>");
+        for (int i = 0; i < titles.size(); i++) {
+            xml.append("<android.widget.TextView class=\"android.widget.TextView\" content-desc=\"test-Item title\"")
+                    .append(" text=\"").append(titles.get(i)).append("\" bounds=\"[40,").append(300 + i * 400)
+                    .append("][520,").append(360 + i * 400).append("]\" displayed=\"true\"/>");
+        }
+        return xml.append("</hierarchy>").toString();
+    }
+
+    /**
+     * Page object bound to the test driver instead of DriverManager.
+     */
+    private static final class SnapshotPage extends BasePage {
+
+        private final AndroidDriver driver;
+
+        SnapshotPage(AndroidDriver driver) {
+            this.driver = driver;
+        }
+
+        @Override
+        protected AndroidDriver driver() {
+            return driver;
+        }
+
+        @Override
+        protected boolean areDisplayed(By... locators) {
+            return super.areDisplayed(locators);
+        }
+
+        @Override
+        protected List<PageSnapshot.Node> extractAll(By locator) {
+            return super.extractAll(locator);
+        }
+
+        @Override
+        protected List<String> getAllTexts(By locator) {
+            return super.getAllTexts(locator);
+        }
+
+        @Override
+        protected void swipe(int startX, int startY, int endX, int endY) {
+            super.swipe(startX, startY, endX, endY);
+        }
+
+        @Override
+        protected void tap(WebElement element) {
+            super.tap(element);
+        }
+
+        @Override
+        public boolean isPageLoaded() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.listeners.Precondition;
+import com.swaglabs.listeners.PreconditionInterceptor;
+import com.swaglabs.pages.Screen;
+
+import org.testng.Assert;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PreconditionInterceptorTest runs a nested TestNG suite and checks that methods are ordered so
+ * consecutive tests share or extend the same app state.
+ */
+public class PreconditionInterceptorTest {
+
+    private static final List<String> RUN_ORDER = new CopyOnWriteArrayList<>();
+
+    @Test(description = "Methods run by priority, then cart size, read-only before mutating")
+    public void testOrdersMethodsByPrecondition() {
+        RUN_ORDER.clear();
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class<?>[] {Flow.class});
+        testng.addListener(new PreconditionInterceptor());
+        testng.setVerbose(0);
+        testng.run();
+
+        Assert.assertEquals(RUN_ORDER, List.of(
+                "noPrecondition",
+                "productsReadOnly",
+                "productsMutating",
+                "oneItemAtCartReadOnly",
+                "oneItemAtCheckoutReadOnly",
+                "twoItemsAtCheckout",
+                "lastByPriority"));
+    }
+
+    /**
+     * Methods declared in an order that would rebuild state at almost every step.
+     */
+    public static class Flow {
+
+        @Test(priority = 1)
+        @Precondition
+        public void lastByPriority() {
+            RUN_ORDER.add("lastByPriority");
+        }
+
+        @Test
+        @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 2)
+        public void twoItemsAtCheckout() {
+            RUN_ORDER.add("twoItemsAtCheckout");
+        }
+
+        @Test
+        @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 1, mutates = false)
+        public void oneItemAtCheckoutReadOnly() {
+            RUN_ORDER.add("oneItemAtCheckoutReadOnly");
+        }
+
+        @Test
+        @Precondition
+        public void productsMutating() {
+            RUN_ORDER.add("productsMutating");
+        }
+
+        @Test
+        @Precondition(screen = Screen.CART, cartItems = 1, mutates = false)
+        public void oneItemAtCartReadOnly() {
+            RUN_ORDER.add("oneItemAtCartReadOnly");
+        }
+
+        @Test
+        @Precondition(mutates = false)
+        public void productsReadOnly() {
+            RUN_ORDER.add("productsReadOnly");
+        }
+
+        @Test
+        public void noPrecondition() {
+            RUN_ORDER.add("noPrecondition");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.pages.PageSnapshot;
+import com.swaglabs.pages.Screen;
+import com.swaglabs.pages.ScreenClassifier;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * ScreenClassifierTest checks that page fingerprints identify the current screen from one page source.
+ */
+public class ScreenClassifierTest {
+
+    private static final String PRODUCTS = source(desc("test-Menu"), desc("test-Cart"), desc("test-PRODUCTS"),
+            desc("test-Modal Selector Button"), desc("test-Item"), text("Sauce Labs Backpack"));
+
+    @Test(description = "Each screen is recognised by its fingerprint")
+    public void testClassifiesScreens() {
+        Assert.assertEquals(classify(source(desc("test-Username"), desc("test-Password"), desc("test-LOGIN"))), Screen.LOGIN);
+        Assert.assertEquals(classify(PRODUCTS), Screen.PRODUCTS);
+        Assert.assertEquals(classify(source(text("YOUR CART"), desc("test-Item"), desc("test-CHECKOUT"),
+                desc("test-CONTINUE SHOPPING"))), Screen.CART);
+        Assert.assertEquals(classify(source(desc("test-First Name"), desc("test-Last Name"),
+                desc("test-Zip/Postal Code"), desc("test-CONTINUE"), desc("test-CANCEL"))), Screen.CHECKOUT_INFO);
+        Assert.assertEquals(classify(source(text("CHECKOUT: OVERVIEW"), desc("test-Payment Info"),
+                desc("test-CANCEL"))), Screen.CHECKOUT_OVERVIEW, "Partially scrolled screens still classify");
+    }
+
+    @Test(description = "The menu drawer wins over the products list underneath it")
+    public void testOverlayBeatsUnderlyingScreen() {
+        String menuOverProducts = PRODUCTS.replace("</hierarchy>", "")
+                + desc("test-CLOSE MENU") + desc("test-ALL ITEMS") + desc("test-WEBVIEW") + desc("test-ABOUT")
+                + desc("test-LOGOUT") + desc("test-RESET APP STATE") + "</hierarchy>";
+
+        Assert.assertEquals(classify(menuOverProducts), Screen.MENU);
+    }
+
+    @Test(description = "Screens without enough of any fingerprint are UNKNOWN")
+    public void testUnknownScreen() {
+        ScreenClassifier.Classification result = ScreenClassifier.classify(PageSnapshot.parse(
+                source(desc("test-CANCEL"), text("Android System"))));
+
+        Assert.assertEquals(result.screen(), Screen.UNKNOWN);
+    }
+
+    @Test(description = "Live classification costs one page-source round-trip")
+    public void testOneRoundTrip() throws IOException {
+        try (FakeAppiumServer server = new FakeAppiumServer()) {
+            server.on("GET source", body -> PRODUCTS);
+            AndroidDriver driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+            try {
+                server.resetCounts();
+                ScreenClassifier.Classification result = ScreenClassifier.classify(driver);
+
+                Assert.assertEquals(result.screen(), Screen.PRODUCTS);
+                Assert.assertEquals(server.totalCommands(), 1);
+                Assert.assertTrue(result.elapsedMs() < 1_000, "Classification took " + result.elapsedMs() + " ms");
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    private static Screen classify(String source) {
+        return ScreenClassifier.classify(PageSnapshot.parse(source)).screen();
+    }
+
+    private static String source(String... nodes) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy>" + String.join("", nodes) + "</hierarchy>";
+    }
+
+    private static String desc(String contentDesc) {
+        return "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"" + contentDesc
+                + "\" displayed=\"true\"/>";
+    }
+
+    private static String text(String text) {
+        return "<android.widget.TextView class=\"android.widget.TextView\" text=\"" + text + "\" displayed=\"true\"/>";
+    }
+}
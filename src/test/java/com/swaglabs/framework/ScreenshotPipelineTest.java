@@ -0,0 +1,178 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.utils.ScreenshotPipeline;
+import com.swaglabs.utils.ScreenshotPipeline.Backpressure;
+import com.swaglabs.utils.ScreenshotStore;
+import com.swaglabs.utils.ScreenshotUtil;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ScreenshotPipelineTest checks the single-capture, background-write screenshot path: one device
+ * capture per failure, unique file names under parallel load, and each backpressure policy.
+ */
+public class ScreenshotPipelineTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+
+    @Test(description = "A failure screenshot costs one capture over the wire")
+    public void testSingleCapture() throws Exception {
+        try (FakeAppiumServer server = new FakeAppiumServer()) {
+            byte[] png = ScreenshotStoreTest.screen("PRODUCTS", "12:00", 6);
+            server.on("GET screenshot", body -> Base64.getEncoder().encodeToString(png));
+            AndroidDriver driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+            try {
+                server.resetCounts();
+                Path path = ScreenshotUtil.capture(driver, "ScreenshotPipelineTest_single", true, false)
+                        .get(5, TimeUnit.SECONDS);
+
+                Assert.assertEquals(server.commandCount("GET screenshot"), 1);
+                Assert.assertTrue(Files.size(path) > 0, "Screenshot should be written to " + path);
+                Files.delete(path);
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    @Test(description = "Parallel captures of the same test in the same second never overwrite each other")
+    public void testFileNamesNeverCollide() throws Exception {
+        Path directory = Files.createTempDirectory("screenshots");
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(directory, 2, 64, Backpressure.BLOCK, Duration.ofSeconds(5));
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> captures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                captures.add(threads.submit(() -> pipeline.submit("LoginTest_testLogin", PNG, true, false)));
+            }
+            for (Future<?> capture : captures) {
+                capture.get();
+            }
+            Assert.assertTrue(pipeline.flush(Duration.ofSeconds(10)));
+
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(files.count(), 200L);
+            }
+        } finally {
+            threads.shutdownNow();
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test(description = "A retry's duplicate frame resolves to the file that holds it")
+    public void testDuplicateResolvesToStoredFile() throws Exception {
+        Path directory = Files.createTempDirectory("screenshots");
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(directory,
+                new ScreenshotStore(ScreenshotStore.Format.JPEG, 0.75f, 540, 0), 1, 4, Backpressure.BLOCK, Duration.ofSeconds(5));
+        try {
+            byte[] png = ScreenshotStoreTest.screen("CART", "12:00", 2);
+            Path first = pipeline.submit("CartTest_testRemove", png, true, false).get(10, TimeUnit.SECONDS);
+            Path retry = pipeline.submit("CartTest_testRemove", png, true, false).get(10, TimeUnit.SECONDS);
+            Path otherTest = pipeline.submit("CartTest_testBadge", png, true, false).get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals(retry, first);
+            Assert.assertNotEquals(otherTest, first, "Another test's capture should get its own file");
+            Assert.assertTrue(Files.exists(retry) && Files.exists(otherTest));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test(description = "With a full queue, DROP sheds load and CALLER_RUNS writes on the test thread")
+    public void testBackpressurePolicies() throws Exception {
+        Path directory = Files.createTempDirectory("screenshots");
+        try {
+            StalledPipeline dropping = new StalledPipeline(directory, Backpressure.DROP, Duration.ZERO);
+            fillQueue(dropping);
+            Assert.assertNull(dropping.submit("dropped", PNG, true, false).join());
+            Assert.assertEquals(dropping.dropped(), 1);
+            dropping.release();
+
+            StalledPipeline callerRuns = new StalledPipeline(directory, Backpressure.CALLER_RUNS, Duration.ZERO);
+            fillQueue(callerRuns);
+            Assert.assertNotNull(callerRuns.submit("inline", PNG, true, false).getNow(null),
+                    "An inline write should be resolved when submit returns");
+            Assert.assertEquals(callerRuns.writtenInline(), 1);
+            callerRuns.release();
+
+            StalledPipeline blocking = new StalledPipeline(directory, Backpressure.BLOCK, Duration.ofMillis(200));
+            fillQueue(blocking);
+            long start = System.nanoTime();
+            blocking.submit("blocked", PNG, true, false);
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue(waitedMs >= 150, "BLOCK should wait for a slot, waited " + waitedMs + " ms");
+            Assert.assertEquals(blocking.writtenInline(), 1, "BLOCK should fall back to an inline write");
+            blocking.release();
+
+            Assert.assertTrue(blocking.flush(Duration.ofSeconds(5)));
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Occupies the single writer and the single queue slot.
+     */
+    private static void fillQueue(StalledPipeline pipeline) throws InterruptedException {
+        pipeline.submit("running", PNG, true, false);
+        Assert.assertTrue(pipeline.started.await(5, TimeUnit.SECONDS));
+        pipeline.submit("queued", PNG, true, false);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * One writer, one queue slot, and writer threads that hang until released.
+     */
+    private static final class StalledPipeline extends ScreenshotPipeline {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        StalledPipeline(Path directory, Backpressure backpressure, Duration queueTimeout) {
+            super(directory, 1, 1, backpressure, queueTimeout);
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        protected Path write(String name, Path file, String attachment, byte[] png) throws IOException {
+            if (Thread.currentThread().getName().startsWith("screenshot-writer")) {
+                started.countDown();
+                try {
+                    released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.write(name, file, attachment, png);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.utils.ScreenshotStore;
+import com.swaglabs.utils.ScreenshotStore.Format;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * ScreenshotStoreTest checks downscaling, re-encoding and perceptual de-duplication on synthetic
+ * 1080x2400 app screens.
+ */
+public class ScreenshotStoreTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScreenshotStoreTest.class);
+
+    @Test(description = "Frames are downscaled and re-encoded to a fraction of the PNG size")
+    public void testDownscaleAndReencode() throws IOException {
+        byte[] png = screen("PRODUCTS", "12:00", 6);
+        ScreenshotStore store = new ScreenshotStore(Format.JPEG, 0.75f, 540, 0);
+
+        ScreenshotStore.Encoded frame = store.encode(png);
+        BufferedImage stored = ImageIO.read(new ByteArrayInputStream(frame.bytes()));
+
+        LOG.info("1080x2400 PNG {} KB → 540 px JPEG {} KB", png.length / 1024, frame.bytes().length / 1024);
+        Assert.assertEquals(stored.getWidth(), 540);
+        Assert.assertEquals(stored.getHeight(), 1200);
+        Assert.assertTrue(frame.bytes().length < png.length / 2,
+                "Stored " + frame.bytes().length + " bytes of " + png.length);
+    }
+
+    @Test(description = "A retry's identical or near-identical screen is stored once; other screens and other tests' captures are kept")
+    public void testDeduplicatesRepeatedFrames() throws IOException {
+        Path directory = Files.createTempDirectory("screenshots");
+        ScreenshotStore store = new ScreenshotStore(Format.JPEG, 0.75f, 540, 2);
+        try {
+            String checkout = "CheckoutFlowTest_testCheckout";
+            Path first = store.save(directory.resolve("CheckoutFlowTest_a.jpg"), checkout, store.encode(screen("CHECKOUT", "12:00", 4)));
+            Path retry = store.save(directory.resolve("CheckoutFlowTest_b.jpg"), checkout, store.encode(screen("CHECKOUT", "12:00", 4)));
+            Path clockTicked = store.save(directory.resolve("CheckoutFlowTest_c.jpg"), checkout, store.encode(screen("CHECKOUT", "12:01", 4)));
+            Path other = store.save(directory.resolve("MenuValidationTest_a.jpg"), "MenuValidationTest_testMenu",
+                    store.encode(screen("MENU", "12:00", 1)));
+            Path otherTest = store.save(directory.resolve("CheckoutFlowTest_d.jpg"), "CheckoutFlowTest_testTotal",
+                    store.encode(screen("CHECKOUT", "12:00", 4)));
+
+            Assert.assertEquals(retry, first, "Identical frame should resolve to the first file");
+            Assert.assertEquals(clockTicked, first, "A status-bar change should not count as a new frame");
+            Assert.assertNotEquals(other, first);
+            Assert.assertNotEquals(otherTest, first, "Another test's capture of the same screen is its own evidence");
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(files.count(), 3L);
+            }
+
+            Map<String, Object> report = store.report();
+            Assert.assertEquals(report.get("captures"), 5);
+            Assert.assertEquals(report.get("duplicates"), 2L);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders a screen with a status bar, a title and a list of product cards.
+     */
+    static byte[] screen(String title, String clock, int cards) throws IOException {
+        BufferedImage image = new BufferedImage(1080, 2400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, 1080, 2400);
+            graphics.setColor(new Color(30, 30, 30));
+            graphics.fillRect(0, 0, 1080, 60);
+            graphics.setColor(Color.WHITE);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 36));
+            graphics.drawString(clock, 40, 45);
+            graphics.setColor(new Color(226, 35, 26));
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 72));
+            graphics.drawString(title, 60, 220);
+            for (int i = 0; i < cards; i++) {
+                int top = 300 + i * 340;
+                graphics.setColor(new Color(240, 240, 240));
+                graphics.fillRoundRect(40, top, 1000, 300, 30, 30);
+                graphics.setColor(new Color(19, 35, 34));
+                graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 44));
+                graphics.drawString("Sauce Labs item " + i, 340, top + 90);
+                photo(image, 70, top + 30, 240, new Random(i));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A noisy gradient standing in for a product photo, the part of a real screen PNG compresses worst.
+     */
+    private static void photo(BufferedImage image, int left, int top, int size, Random random) {
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int shade = 60 + (x + y) * 120 / (2 * size) + random.nextInt(40);
+                image.setRGB(left + x, top + y, new Color(shade, shade - 20, shade / 2).getRGB());
+            }
+        }
+    }
+}
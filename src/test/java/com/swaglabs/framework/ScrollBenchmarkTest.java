@@ -0,0 +1,183 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.ScreenGeometry;
+import com.swaglabs.pages.BasePage;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ScreenOrientation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ScrollBenchmarkTest checks that scrolls reuse the cached {@link ScreenGeometry} and compares the
+ * cost of a scroll per backend against a stub server with hub-like command latency.
+ */
+public class ScrollBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScrollBenchmarkTest.class);
+    private static final int SCROLLS = 20;
+    private static final long COMMAND_DELAY_MS = 25;
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+    private final AtomicReference<Map<String, Object>> lastGesture = new AtomicReference<>();
+    private final AtomicBoolean canScrollMore = new AtomicBoolean(true);
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer();
+        server.onScript("mobile: scrollGesture", args -> {
+            lastGesture.set(args);
+            return canScrollMore.get();
+        });
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeMethod
+    public void reset() {
+        ScreenGeometry.invalidate(driver);
+        canScrollMore.set(true);
+        server.withCommandDelay(0);
+        server.resetCounts();
+    }
+
+    @Test(description = "Window size is fetched once per orientation, not once per scroll")
+    public void testGeometryIsCachedPerOrientation() {
+        ScrollPage page = new ScrollPage(driver, "ACTIONS");
+        for (int i = 0; i < 5; i++) {
+            page.scrollDown();
+        }
+        Assert.assertEquals(server.commandCount("GET window/rect"), 1);
+        Assert.assertEquals(server.commandCount("POST actions"), 5);
+
+        server.on("GET window/rect", body -> Map.of("x", 0, "y", 0, "width", 2400, "height", 1080));
+        try {
+            ScreenGeometry.rotated(driver, ScreenOrientation.LANDSCAPE);
+            Assert.assertEquals(ScreenGeometry.size(driver), new Dimension(2400, 1080));
+            ScreenGeometry.rotated(driver, ScreenOrientation.PORTRAIT);
+            Assert.assertEquals(ScreenGeometry.size(driver), new Dimension(1080, 2400));
+            Assert.assertEquals(server.commandCount("GET window/rect"), 2,
+                    "Rotating back should reuse the portrait size");
+        } finally {
+            server.on("GET window/rect", body -> Map.of("x", 0, "y", 0, "width", 1080, "height", 2400));
+        }
+    }
+
+    @Test(description = "Native backend sends one scrollGesture over the middle of the screen and reports the end")
+    public void testNativeScrollGesture() {
+        ScrollPage page = new ScrollPage(driver, "NATIVE");
+
+        Assert.assertTrue(page.scroll("down"));
+        Map<String, Object> args = lastGesture.get();
+        Assert.assertEquals(args.get("direction"), "down");
+        Assert.assertEquals(((Number) args.get("top")).intValue(), 720);
+        Assert.assertEquals(((Number) args.get("height")).intValue(), 960);
+        Assert.assertEquals(server.commandCount("POST actions"), 0);
+
+        canScrollMore.set(false);
+        Assert.assertFalse(page.scroll("down"), "End of content should be reported");
+    }
+
+    @Test(description = "Scroll cost per backend with 25 ms per command")
+    public void testScrollCostPerBackend() {
+        server.withCommandDelay(COMMAND_DELAY_MS);
+
+        Result legacy = run("legacy", new ScrollPage(driver, "ACTIONS"), true);
+        Result actions = run("actions", new ScrollPage(driver, "ACTIONS"), false);
+        Result nativeGesture = run("native", new ScrollPage(driver, "NATIVE"), false);
+
+        LOG.info("Scroll cost over {} scrolls, {} ms per command (device-side gesture time not included):",
+                SCROLLS, COMMAND_DELAY_MS);
+        LOG.info("  {}", legacy);
+        LOG.info("  {}", actions);
+        LOG.info("  {}", nativeGesture);
+        LOG.info("  on a device the actions swipe also takes swipe.duration.ms per scroll; "
+                + "scrollGesture finishes at scroll.speed and returns whether more content remains");
+
+        Assert.assertEquals(legacy.commandsPerScroll(), 2.0, 0.01, "Legacy scroll = getSize + actions");
+        Assert.assertTrue(actions.commandsPerScroll() < 1.1, "Cached scroll should send one command");
+        Assert.assertTrue(nativeGesture.commandsPerScroll() < 1.1, "Native scroll should send one command");
+        Assert.assertTrue(actions.msPerScroll() < legacy.msPerScroll(),
+                "Caching geometry should cut the per-scroll cost: " + actions + " vs " + legacy);
+    }
+
+    private Result run(String name, ScrollPage page, boolean refetchGeometry) {
+        ScreenGeometry.invalidate(driver);
+        server.resetCounts();
+        long start = System.nanoTime();
+        for (int i = 0; i < SCROLLS; i++) {
+            if (refetchGeometry) {
+                ScreenGeometry.invalidate(driver);
+            }
+            page.scrollDown();
+        }
+        double msPerScroll = (System.nanoTime() - start) / 1e6 / SCROLLS;
+        return new Result(name, msPerScroll, (double) server.totalCommands() / SCROLLS);
+    }
+
+    private record Result(String name, double msPerScroll, double commandsPerScroll) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %.1f ms/scroll | %.2f commands/scroll", name, msPerScroll, commandsPerScroll);
+        }
+    }
+
+    /**
+     * Page object bound to the test driver with a fixed scroll backend.
+     */
+    private static final class ScrollPage extends BasePage {
+
+        private final AndroidDriver driver;
+        private final ScrollBackend backend;
+
+        ScrollPage(AndroidDriver driver, String backend) {
+            this.driver = driver;
+            this.backend = ScrollBackend.valueOf(backend);
+        }
+
+        @Override
+        protected AndroidDriver driver() {
+            return driver;
+        }
+
+        @Override
+        protected ScrollBackend scrollBackend() {
+            return backend;
+        }
+
+        @Override
+        protected void scrollDown() {
+            super.scrollDown();
+        }
+
+        @Override
+        protected boolean scroll(String direction) {
+            return super.scroll(direction);
+        }
+
+        @Override
+        public boolean isPageLoaded() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.pages.BasePage;
+import com.swaglabs.pages.ScrollIndex;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ScrollSearchTest checks the bounded scroll-to-element search on {@link BasePage} against a fake
+ * 20-item list that shows six items and moves two per scroll.
+ */
+public class ScrollSearchTest {
+
+    private static final int ITEMS = 20;
+    private static final int VISIBLE = 6;
+    private static final int LAST_POSITION = (ITEMS - VISIBLE) / 2;
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+    private SearchPage page;
+    private final AtomicInteger position = new AtomicInteger();
+    private final AtomicReference<String> extra = new AtomicReference<>();
+    private final AtomicReference<String> lastLookup = new AtomicReference<>();
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer();
+        server.on("GET source", body -> listSource(position.get(), extra.get()));
+        server.on("POST element", body -> {
+            lastLookup.set(String.valueOf(body.get("value")));
+            return Map.of("element-6066-11e4-a52e-4f735466cecf", "item");
+        });
+        server.on("GET element/*/displayed", body -> true);
+        server.onScript("mobile: scrollGesture", args -> {
+            int step = "up".equals(args.get("direction")) ? -1 : 1;
+            position.set(Math.max(0, Math.min(LAST_POSITION, position.get() + step)));
+            return true;
+        });
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+        page = new SearchPage(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeMethod
+    public void reset() {
+        ScrollIndex.clear();
+        BasePage.invalidateSnapshot();
+        position.set(0);
+        server.resetCounts();
+    }
+
+    @Test(description = "An item further down is found with one snapshot per swipe")
+    public void testFindsItemBelowTheFold() {
+        WebElement item = page.scrollToText("Item 13");
+
+        Assert.assertNotNull(item);
+        Assert.assertEquals(position.get(), 4);
+        Assert.assertEquals(server.commandCount("POST execute/sync"), 4);
+        Assert.assertEquals(server.commandCount("GET source"), 5);
+    }
+
+    @Test(description = "A missing item stops at both ends of the list instead of using every swipe")
+    public void testMissingItemStopsAtEndOfList() {
+        try {
+            page.scrollToText("Item 99", 30, "down");
+            Assert.fail("Missing item should not be found");
+        } catch (NoSuchElementException e) {
+            Assert.assertTrue(e.getMessage().contains("both ends of the list reached"), e.getMessage());
+        }
+        Assert.assertEquals(server.commandCount("POST execute/sync"), 2 * (LAST_POSITION + 1),
+                "Each sweep should stop at the first scroll that leaves the hierarchy unchanged");
+        Assert.assertEquals(position.get(), 0);
+    }
+
+    @Test(description = "An item above the starting point is found by sweeping back after the end")
+    public void testFindsItemAboveTheStart() {
+        position.set(5);
+
+        Assert.assertNotNull(page.scrollToText("Item 1", 10, "down"));
+        Assert.assertEquals(position.get(), 0);
+        // Down to the end (two moves and one unchanged scroll), then all the way up
+        Assert.assertEquals(server.commandCount("POST execute/sync"), 3 + LAST_POSITION);
+
+        BasePage.invalidateSnapshot();
+        server.resetCounts();
+        page.scrollToText("Item 13", 10, "down");
+        Assert.assertEquals(position.get(), 4);
+        Assert.assertEquals(server.commandCount("GET source"), 2,
+                "Offsets indexed while sweeping up should still support a direct jump");
+    }
+
+    @Test(description = "A value holding both quote kinds is found and looked up with concat()")
+    public void testValueWithBothQuoteKinds() {
+        String quoted = "Sauce Labs \"Bolt\" T-Shirt's";
+        extra.set(quoted);
+        try {
+            Assert.assertNotNull(page.scrollToText(quoted));
+            Assert.assertEquals(server.commandCount("POST element"), 1);
+            Assert.assertTrue(lastLookup.get().contains("concat('Sauce Labs \"Bolt\" T-Shirt', \"'\", 's')"),
+                    lastLookup.get());
+        } finally {
+            extra.set(null);
+        }
+    }
+
+    @Test(description = "The swipe budget bounds the search")
+    public void testMaxSwipesBoundsTheSearch() {
+        Assert.assertThrows(NoSuchElementException.class, () -> page.scrollToText("Item 19", 2, "down"));
+        Assert.assertEquals(server.commandCount("POST execute/sync"), 2);
+        Assert.assertEquals(server.commandCount("POST element"), 0);
+    }
+
+    @Test(description = "A repeat lookup jumps straight to the indexed offset, in either direction")
+    public void testRepeatLookupJumpsToIndexedOffset() {
+        page.scrollToText("Item 13");
+        position.set(0);
+        BasePage.invalidateSnapshot();
+        server.resetCounts();
+
+        page.scrollToText("Item 13");
+        Assert.assertEquals(server.commandCount("POST execute/sync"), 4);
+        Assert.assertEquals(server.commandCount("GET source"), 2, "Only the start and the landing should be inspected");
+
+        server.resetCounts();
+        page.scrollToText("Item 1", 10, "down");
+        Assert.assertEquals(position.get(), 0, "An item seen above should be reached by jumping up");
+        Assert.assertEquals(server.commandCount("GET source"), 1);
+    }
+
+    private static String listSource(int position, String extra) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy>")
+                .append("<android.widget.TextView class=\"android.widget.TextView\" text=\"PRODUCTS\" displayed=\"true\"/>");
+        for (int i = position * 2; i < position * 2 + VISIBLE; i++) {
+            xml.append("<android.widget.TextView class=\"android.widget.TextView\" content-desc=\"test-Item title\"")
+                    .append(" text=\"Item ").append(i).append("\" displayed=\"true\"/>");
+        }
+        if (extra != null && position == LAST_POSITION) {
+            xml.append("<android.widget.TextView class=\"android.widget.TextView\" text=\"")
+                    .append(extra.replace("\"", "&quot;").replace("'", "&apos;")).append("\" displayed=\"true\"/>");
+        }
+        return xml.append("</hierarchy>").toString();
+    }
+
+    /**
+     * Page object bound to the test driver, scrolling with the native backend.
+     */
+    private static final class SearchPage extends BasePage {
+
+        private final AndroidDriver driver;
+
+        SearchPage(AndroidDriver driver) {
+            this.driver = driver;
+        }
+
+        @Override
+        protected AndroidDriver driver() {
+            return driver;
+        }
+
+        @Override
+        protected ScrollBackend scrollBackend() {
+            return ScrollBackend.NATIVE;
+        }
+
+        @Override
+        protected WebElement scrollToText(String text) {
+            return super.scrollToText(text);
+        }
+
+        @Override
+        protected WebElement scrollToText(String text, int maxSwipes, String direction) {
+            return super.scrollToText(text, maxSwipes, direction);
+        }
+
+        @Override
+        public boolean isPageLoaded() {
+            return true;
+        }
+    }
+}
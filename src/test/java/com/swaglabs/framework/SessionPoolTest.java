@@ -0,0 +1,109 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.SessionPool;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * SessionPoolTest exercises {@link SessionPool} against a local fake WebDriver endpoint
+ * and reports pool hit rate and session-start time saved.
+ */
+public class SessionPoolTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionPoolTest.class);
+    private static final long SESSION_START_MS = 200;
+    private static final int TEST_CLASSES = 4;
+
+    private FakeAppiumServer server;
+    private SessionPool pool;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer().withSessionStartDelay(SESSION_START_MS);
+        pool = new SessionPool(this::newDriver, "com.swaglabsmobileapp", 1);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        pool.shutdown();
+        server.close();
+    }
+
+    private AndroidDriver newDriver() {
+        return new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @Test(description = "Sequential test classes reuse one warm session")
+    public void testSequentialClassesReuseSession() {
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_CLASSES; i++) {
+            AndroidDriver driver = newDriver();
+            driver.getOrientation();
+            driver.quit();
+        }
+        long unpooledMs = (System.nanoTime() - start) / 1_000_000;
+        int unpooledSessions = server.sessionsCreated();
+
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_CLASSES; i++) {
+            AndroidDriver driver = pool.lease().driver();
+            driver.getOrientation();
+            pool.release(driver);
+        }
+        long pooledMs = (System.nanoTime() - start) / 1_000_000;
+
+        SessionPool.Stats stats = pool.stats();
+        LOG.info("{} classes — unpooled: {} ms, pooled: {} ms — {}", TEST_CLASSES, unpooledMs, pooledMs, stats);
+
+        Assert.assertEquals(server.sessionsCreated() - unpooledSessions, 1, "Only one pooled session should be started");
+        Assert.assertEquals(stats.hits(), TEST_CLASSES - 1);
+        Assert.assertEquals(stats.hitRate(), 0.75, 0.001);
+        Assert.assertTrue(stats.timeSaved().toMillis() >= (TEST_CLASSES - 1) * SESSION_START_MS,
+                "Time saved should cover every avoided session start");
+        Assert.assertTrue(pooledMs < unpooledMs,
+                "Pooled run should be faster than starting a session per class");
+    }
+
+    @Test(description = "Release records orientation and app state of the parked session")
+    public void testReleaseRecordsSessionState() {
+        AndroidDriver driver = pool.lease().driver();
+        pool.release(driver);
+
+        SessionPool.PooledSession session = pool.lease();
+        Assert.assertSame(session.driver(), driver);
+        Assert.assertEquals(session.lastOrientation().name(), "PORTRAIT");
+        Assert.assertEquals(session.lastAppState().name(), "RUNNING_IN_FOREGROUND");
+        pool.release(driver);
+    }
+
+    @Test(description = "Sessions that fail the health check are not reused")
+    public void testDeadSessionIsDiscardedOnRelease() {
+        AndroidDriver driver = pool.lease().driver();
+        server.killSessions();
+        pool.release(driver);
+
+        Assert.assertEquals(pool.stats().idle(), 0, "Dead session must not be parked");
+
+        pool.release(pool.lease().driver());
+        Assert.assertEquals(server.sessionsCreated(), 2, "A fresh session should replace the dead one");
+    }
+
+    @Test(description = "Shutdown quits every pooled session")
+    public void testShutdownQuitsAllSessions() {
+        pool.release(pool.lease().driver());
+        Assert.assertEquals(server.liveSessions(), 1);
+
+        pool.shutdown();
+        Assert.assertEquals(server.liveSessions(), 0, "Suite-end shutdown should delete all sessions");
+    }
+}
@@ -0,0 +1,127 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.driver.DeviceRegistry;
+import com.swaglabs.driver.SessionPrewarmer;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionPrewarmerTest checks that session start overlaps a running class and measures
+ * how much session-start latency is hidden.
+ */
+public class SessionPrewarmerTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionPrewarmerTest.class);
+    private static final long SESSION_START_MS = 300;
+
+    private FakeAppiumServer server;
+    private DeviceRegistry registry;
+    private SessionPrewarmer prewarmer;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer().withSessionStartDelay(SESSION_START_MS);
+        String url = server.url().toString();
+        registry = DeviceRegistry.parse("emulator-5554|" + url + ",emulator-5556|" + url);
+        prewarmer = new SessionPrewarmer(registry, device -> newDriver());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        prewarmer.shutdown();
+        server.close();
+    }
+
+    private AndroidDriver newDriver() {
+        return new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @Test(description = "Session start overlapping a running class is hidden from the next initDriver")
+    public void testPrewarmedSessionHidesStartLatency() throws InterruptedException {
+        DeviceRegistry.Device current = registry.lease(Duration.ofSeconds(1));
+        prewarmer.prewarmNext();
+
+        // Current test class keeps running for longer than a session start
+        Thread.sleep(SESSION_START_MS * 2);
+        registry.release(current);
+
+        long claimStart = System.nanoTime();
+        SessionPrewarmer.WarmSession warm = prewarmer.claim();
+        long claimMs = (System.nanoTime() - claimStart) / 1_000_000;
+
+        Assert.assertNotNull(warm, "A pre-warmed session should be ready");
+        Assert.assertNotEquals(warm.device(), current, "Pre-warming must use the spare device");
+        Assert.assertTrue(claimMs < SESSION_START_MS, "Claiming a ready session should not wait for start-up");
+
+        SessionPrewarmer.Stats stats = prewarmer.stats();
+        LOG.info("Claim took {} ms — {}", claimMs, stats);
+        Assert.assertEquals(stats.claimed(), 1);
+        Assert.assertTrue(stats.hiddenLatency().toMillis() >= SESSION_START_MS - 50,
+                "Nearly the full session start should be hidden");
+        warm.driver().quit();
+    }
+
+    @Test(description = "Nothing is pre-warmed when no spare device is free")
+    public void testNoSpareDevice() {
+        registry.lease(Duration.ofSeconds(1));
+        registry.lease(Duration.ofSeconds(1));
+
+        prewarmer.prewarmNext();
+
+        Assert.assertNull(prewarmer.claim());
+        Assert.assertEquals(prewarmer.stats().noSpareDevice(), 1);
+        Assert.assertEquals(server.sessionsCreated(), 0);
+    }
+
+    @Test(description = "A claim gives up after the session-start timeout without holding the prewarmer's lock")
+    public void testClaimTimesOutOutsideTheLock() throws Exception {
+        SessionPrewarmer slow = new SessionPrewarmer(registry, device -> newDriver(), device -> false,
+                Duration.ofMillis(SESSION_START_MS / 3));
+        DeviceRegistry.Device current = registry.lease(Duration.ofSeconds(1));
+        try {
+            slow.prewarmNext();
+            CompletableFuture<SessionPrewarmer.WarmSession> claim = CompletableFuture.supplyAsync(slow::claim);
+            Thread.sleep(20);
+
+            // Another thread can use the prewarmer while the claim is waiting
+            CompletableFuture.runAsync(slow::prewarmNext).get(SESSION_START_MS / 6, TimeUnit.MILLISECONDS);
+            Assert.assertEquals(slow.stats().noSpareDevice(), 1);
+
+            Assert.assertNull(claim.get(SESSION_START_MS, TimeUnit.MILLISECONDS), "A late session should not be claimed");
+            Assert.assertEquals(slow.stats().wasted(), 1);
+
+            Thread.sleep(SESSION_START_MS * 2);
+            Assert.assertEquals(server.liveSessions(), 0, "The late session should be quit once it starts");
+        } finally {
+            registry.release(current);
+            slow.shutdown();
+        }
+        Assert.assertEquals(registry.availableCount(), 2, "The spare device should be released");
+    }
+
+    @Test(description = "Unclaimed warm sessions are quit and their device released at shutdown")
+    public void testShutdownQuitsUnclaimedSession() throws InterruptedException {
+        prewarmer.prewarmNext();
+        Thread.sleep(SESSION_START_MS * 2);
+
+        prewarmer.shutdown();
+        Thread.sleep(200);
+
+        Assert.assertEquals(prewarmer.stats().wasted(), 1);
+        Assert.assertEquals(server.liveSessions(), 0, "Unclaimed session should be deleted");
+        Assert.assertEquals(registry.availableCount(), 2, "Spare device should be released");
+    }
+}
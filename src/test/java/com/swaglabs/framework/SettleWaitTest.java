@@ -0,0 +1,120 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.utils.WaitHelper;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SettleWaitTest checks the animation settle waits on {@link WaitHelper} against a fake server
+ * whose element bounds and page source move for a while, or forever.
+ */
+public class SettleWaitTest {
+
+    private static final By DRAWER = AppiumBy.accessibilityId("test-Menu");
+    private static final Duration WINDOW = Duration.ofMillis(200);
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+    private static final long MOVING_MS = 300;
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+    private final AtomicInteger rectCalls = new AtomicInteger();
+    private long start;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new FakeAppiumServer();
+        server.on("POST element", body -> Map.of("element-6066-11e4-a52e-4f735466cecf", "drawer"));
+        driver = new AndroidDriver(server.url(), new UiAutomator2Options().setDeviceName("fake"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeMethod
+    public void reset() {
+        server.resetCounts();
+        rectCalls.set(0);
+        start = System.nanoTime();
+    }
+
+    @Test(description = "Bounds that slide in and then stop settle once they stay put for the window")
+    public void testMovingBoundsSettle() {
+        server.on("GET element/*/rect", body -> rect(Math.min(elapsedMs(), MOVING_MS)));
+
+        boolean settled = WaitHelper.waitForSettle(driver, DRAWER, WINDOW, TIMEOUT);
+        long elapsed = elapsedMs();
+
+        Assert.assertTrue(settled);
+        Assert.assertTrue(elapsed >= MOVING_MS + WINDOW.toMillis(), "Settled too early, after " + elapsed + " ms");
+        Assert.assertTrue(elapsed < TIMEOUT.toMillis(), "Settled too late, after " + elapsed + " ms");
+        Assert.assertEquals(server.commandCount("POST element"), 1, "The element should be looked up once");
+    }
+
+    @Test(description = "An element that goes stale mid-animation is found again and still settles")
+    public void testStaleElementIsFoundAgain() {
+        server.on("GET element/*/rect", body -> {
+            if (rectCalls.incrementAndGet() == 2) {
+                throw new FakeAppiumServer.CommandError("stale element reference", "The drawer was re-rendered");
+            }
+            return rect(0);
+        });
+
+        Assert.assertTrue(WaitHelper.waitForSettle(driver, DRAWER, WINDOW, TIMEOUT));
+        Assert.assertEquals(server.commandCount("POST element"), 2, "A stale element should be looked up again");
+    }
+
+    @Test(description = "Bounds that never stop moving give up at the timeout")
+    public void testBoundsThatNeverSettleTimeOut() {
+        server.on("GET element/*/rect", body -> rect(rectCalls.incrementAndGet()));
+
+        boolean settled = WaitHelper.waitForSettle(driver, DRAWER, WINDOW, TIMEOUT);
+        long elapsed = elapsedMs();
+
+        Assert.assertFalse(settled);
+        Assert.assertTrue(elapsed >= TIMEOUT.toMillis() && elapsed < TIMEOUT.toMillis() + 500,
+                "Gave up after " + elapsed + " ms");
+    }
+
+    @Test(description = "A screen settles once its page source stops changing, and gives up if it never does")
+    public void testScreenSettle() {
+        server.on("GET source", body -> source(Math.min(elapsedMs(), MOVING_MS)));
+        Assert.assertTrue(WaitHelper.waitForScreenSettle(driver, WINDOW, TIMEOUT));
+        Assert.assertTrue(elapsedMs() >= MOVING_MS + WINDOW.toMillis());
+
+        server.on("GET source", body -> source(rectCalls.incrementAndGet()));
+        start = System.nanoTime();
+        Assert.assertFalse(WaitHelper.waitForScreenSettle(driver, WINDOW, TIMEOUT));
+        Assert.assertTrue(elapsedMs() >= TIMEOUT.toMillis());
+    }
+
+    private long elapsedMs() {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static Map<String, Object> rect(long y) {
+        return Map.of("x", 0, "y", y, "width", 400, "height", 800);
+    }
+
+    private static String source(long offset) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><hierarchy>"
+                + "<android.view.ViewGroup class=\"android.view.ViewGroup\" content-desc=\"test-Menu\""
+                + " bounds=\"[0," + offset + "][400," + (offset + 800) + "]\" displayed=\"true\"/></hierarchy>";
+    }
+}
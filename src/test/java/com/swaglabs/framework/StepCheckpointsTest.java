@@ -0,0 +1,98 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.pages.AppReset;
+import com.swaglabs.pages.NavigationGraph;
+import com.swaglabs.pages.Navigator;
+import com.swaglabs.pages.Screen;
+import com.swaglabs.pages.StateCache;
+import com.swaglabs.pages.StepCheckpoints;
+import com.swaglabs.pages.StepCheckpoints.State;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StepCheckpointsTest simulates a flow failing part-way and checks that the retry restores the
+ * last restorable step's state and runs only the steps after it.
+ */
+public class StepCheckpointsTest {
+
+    @Test(description = "A retry resumes after the last step whose state can be restored")
+    public void testResumesFromLastReachableCheckpoint() {
+        RecordingReset reset = new RecordingReset();
+        List<String> ran = new ArrayList<>();
+
+        Assert.assertFalse(StepCheckpoints.begin("resume", reset));
+        try {
+            runFlow(ran, true);
+            Assert.fail("The first attempt should fail at the last step");
+        } catch (IllegalStateException expected) {
+            // Flake at the last step
+        }
+        Assert.assertEquals(ran, List.of("login", "addTwo", "checkout", "fillInfo", "menu"));
+
+        ran.clear();
+        Assert.assertTrue(StepCheckpoints.begin("resume", reset));
+        runFlow(ran, false);
+        StepCheckpoints.finish("resume");
+
+        // The overview after "fillInfo" cannot be navigated to, so the retry restarts at checkout info
+        Assert.assertEquals(reset.prepared, List.of(State.at(Screen.CHECKOUT_INFO, 2)));
+        Assert.assertEquals(ran, List.of("fillInfo", "menu"));
+        Assert.assertFalse(StepCheckpoints.begin("resume", reset), "A passed flow should start from scratch");
+    }
+
+    @Test(description = "A checkpoint that cannot be restored falls back to a full run")
+    public void testUnrestorableCheckpointStartsOver() {
+        RecordingReset reset = new RecordingReset();
+        StepCheckpoints.begin("fallback", reset);
+        StepCheckpoints.current().step("login", State.at(Screen.PRODUCTS), () -> { });
+
+        reset.failing = true;
+        Assert.assertFalse(StepCheckpoints.begin("fallback", reset));
+        List<String> ran = new ArrayList<>();
+        StepCheckpoints.current().step("login", State.at(Screen.PRODUCTS), () -> ran.add("login"));
+        StepCheckpoints.finish("fallback");
+
+        Assert.assertEquals(ran, List.of("login"));
+    }
+
+    private static void runFlow(List<String> ran, boolean failAtMenu) {
+        StepCheckpoints flow = StepCheckpoints.current();
+        flow.step("login", State.at(Screen.PRODUCTS), () -> ran.add("login"));
+        flow.step("addTwo", State.at(Screen.PRODUCTS, 2), () -> ran.add("addTwo"));
+        flow.step("checkout", State.at(Screen.CHECKOUT_INFO, 2), () -> ran.add("checkout"));
+        flow.step("fillInfo", State.at(Screen.CHECKOUT_OVERVIEW, 2), () -> ran.add("fillInfo"));
+        flow.step("menu", State.at(Screen.MENU), () -> {
+            ran.add("menu");
+            if (failAtMenu) {
+                throw new IllegalStateException("menu did not open");
+            }
+        });
+    }
+
+    /**
+     * Records the preconditions it is asked for instead of driving a device.
+     */
+    private static final class RecordingReset extends AppReset {
+
+        private final List<State> prepared = new ArrayList<>();
+        private boolean failing;
+
+        RecordingReset() {
+            super(new Navigator(NavigationGraph.standard("standard_user", "secret_sauce")));
+        }
+
+        @Override
+        public StateCache.Outcome prepare(Screen target, int cartItems, Cleanliness required) {
+            if (failing) {
+                throw new IllegalStateException("No reset tier could reach " + target);
+            }
+            prepared.add(State.at(target, cartItems));
+            return StateCache.Outcome.HIT;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.utils.TestHistory;
+import com.swaglabs.utils.TestHistory.Outcome;
+import com.swaglabs.utils.TestHistory.Run;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TestHistoryTest writes attempts to a temporary history file, reopens it, and checks the
+ * queries and the handling of a record cut short by a killed run.
+ */
+public class TestHistoryTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestHistoryTest.class);
+    private static final String LOGIN = "com.swaglabs.tests.LoginTest.testValidLogin[]";
+    private static final String CART = "com.swaglabs.tests.CartTest.testAddToCart[]";
+
+    @Test(description = "Recorded attempts survive a reopen and answer percentile, flake rate and trend")
+    public void testRecordReopenAndQuery() throws IOException {
+        Path file = Files.createTempFile("test-history", ".bin");
+        Files.delete(file);
+        TestHistory history = TestHistory.open(file);
+        for (int i = 1; i <= 10; i++) {
+            // The last five runs take twice as long
+            history.record(run(LOGIN, i <= 5 ? 1000 : 2000, Outcome.PASSED, 0, null));
+        }
+        history.record(run(CART, 3000, Outcome.RETRIED, 0, "INFRASTRUCTURE"));
+        history.record(run(CART, 2500, Outcome.PASSED, 1, null));
+        history.record(run(CART, 4000, Outcome.FAILED, 0, "PRODUCT"));
+        history.record(run(CART, 2400, Outcome.PASSED, 0, null));
+
+        TestHistory reopened = TestHistory.open(file);
+        Assert.assertEquals(reopened.runs(LOGIN).size(), 10);
+        Assert.assertEquals(reopened.runs(CART), history.runs(CART));
+        Assert.assertEquals(reopened.discardedBytes(), 0);
+
+        Assert.assertEquals(reopened.percentile(LOGIN, 50), Duration.ofMillis(1000));
+        Assert.assertEquals(reopened.percentile(LOGIN, 95), Duration.ofMillis(2000));
+        Assert.assertEquals(reopened.flakeRate(LOGIN), 0.0);
+        // One of three finished runs passed only on retry; the retried attempt itself is not a run
+        Assert.assertEquals(reopened.flakeRate(CART), 1.0 / 3, 1e-9);
+
+        TestHistory.Trend trend = reopened.trend(LOGIN, 5);
+        Assert.assertNotNull(trend);
+        Assert.assertEquals(trend.changePercent(), 100);
+        Assert.assertNull(reopened.trend(CART, 5), "Two passing runs are not enough for a trend");
+
+        Assert.assertNull(reopened.percentile("unknown", 50));
+        Map<String, Object> summary = reopened.summary();
+        Assert.assertEquals(summary.keySet(), Set.of(LOGIN, CART));
+        Files.delete(file);
+    }
+
+    @Test(description = "A record cut short at the end of the file is ignored and appending continues")
+    public void testTruncatedTailIsIgnored() throws IOException {
+        Path file = Files.createTempFile("test-history", ".bin");
+        Files.delete(file);
+        TestHistory history = TestHistory.open(file);
+        history.record(run(LOGIN, 1000, Outcome.PASSED, 0, null));
+        history.record(run(LOGIN, 1100, Outcome.PASSED, 0, null));
+        byte[] whole = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(whole, whole.length - 5), StandardOpenOption.TRUNCATE_EXISTING);
+
+        TestHistory reopened = TestHistory.open(file);
+        Assert.assertEquals(reopened.runs(LOGIN).size(), 1);
+        Assert.assertTrue(reopened.discardedBytes() > 0);
+
+        reopened.record(run(LOGIN, 1200, Outcome.PASSED, 0, null));
+        TestHistory appended = TestHistory.open(file);
+        Assert.assertEquals(appended.runs(LOGIN).stream().map(Run::durationMillis).toList(), List.of(1000L, 1200L));
+        Assert.assertEquals(appended.discardedBytes(), 0);
+        Files.delete(file);
+    }
+
+    @Test(description = "A record that fails to decode is dropped with the rest of the tail")
+    public void testCorruptRecordIsDroppedLikeATail() throws IOException {
+        Path file = Files.createTempFile("test-history", ".bin");
+        Files.delete(file);
+        TestHistory history = TestHistory.open(file);
+        history.record(run(LOGIN, 1000, Outcome.PASSED, 0, null));
+        long valid = Files.size(file);
+
+        // A complete record whose outcome ordinal is out of range, followed by a good one
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(record)) {
+            out.writeLong(System.currentTimeMillis());
+            out.writeUTF(LOGIN);
+            out.writeUTF("PORTRAIT");
+            out.writeUTF("");
+            out.writeLong(1100);
+            out.writeByte(42);
+            out.writeByte(0);
+            out.writeUTF("");
+        }
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file, StandardOpenOption.APPEND))) {
+            out.writeInt(record.size());
+            out.write(record.toByteArray());
+        }
+        history.record(run(LOGIN, 1200, Outcome.PASSED, 0, null));
+
+        TestHistory reopened = TestHistory.open(file);
+        Assert.assertEquals(reopened.runs(LOGIN).stream().map(Run::durationMillis).toList(), List.of(1000L));
+        Assert.assertEquals(Files.size(file), valid, "The file should be cut back to the last good record");
+
+        reopened.record(run(LOGIN, 1300, Outcome.PASSED, 0, null));
+        Assert.assertEquals(TestHistory.open(file).runs(LOGIN).size(), 2);
+        Files.delete(file);
+    }
+
+    @Test(description = "A file with an unreadable header is moved aside and a new history started")
+    public void testUnreadableFileIsSetAside() throws IOException {
+        Path file = Files.createTempFile("test-history", ".bin");
+        Path bad = file.resolveSibling(file.getFileName() + ".bad");
+        Files.writeString(file, "not a history");
+
+        TestHistory history = TestHistory.open(file);
+        Assert.assertTrue(Files.exists(bad), "The unreadable file should be kept as .bad");
+        Assert.assertFalse(Files.exists(file));
+        Assert.assertTrue(history.runs(LOGIN).isEmpty());
+
+        history.record(run(LOGIN, 1000, Outcome.PASSED, 0, null));
+        TestHistory reopened = TestHistory.open(file);
+        Assert.assertEquals(reopened.runs(LOGIN).size(), 1, "The new history should be readable");
+        Assert.assertEquals(reopened.discardedBytes(), 0);
+        Files.delete(file);
+        Files.delete(bad);
+    }
+
+    @Test(description = "A history of many runs loads fast enough to query at suite start")
+    public void testLoadSpeed() throws IOException {
+        Path file = Files.createTempFile("test-history", ".bin");
+        Files.delete(file);
+        TestHistory history = TestHistory.open(file);
+        int runs = 20_000;
+        for (int i = 0; i < runs; i++) {
+            history.record(run("com.swaglabs.tests.Test" + (i % 50) + ".test[]", 1000 + i % 700,
+                    i % 20 == 0 ? Outcome.RETRIED : Outcome.PASSED, i % 40 == 1 ? 1 : 0, null));
+        }
+        long start = System.nanoTime();
+        TestHistory reopened = TestHistory.open(file);
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        reopened.summary();
+        long summaryMillis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info("Loaded {} runs ({} KB) in {} ms, summarised in {} ms", runs, Files.size(file) / 1024,
+                loadMillis, summaryMillis);
+
+        Assert.assertEquals(reopened.runs("com.swaglabs.tests.Test7.test[]").size(), runs / 50);
+        Assert.assertTrue(loadMillis < 2000, "Loading took " + loadMillis + " ms");
+        Files.delete(file);
+    }
+
+    private static Run run(String testId, long millis, Outcome outcome, int retries, String failureClass) {
+        return new Run(System.currentTimeMillis(), testId, "PORTRAIT", "emulator-5554@http://127.0.0.1:4723",
+                millis, outcome, retries, failureClass);
+    }
+}
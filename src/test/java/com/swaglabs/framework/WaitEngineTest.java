@@ -0,0 +1,95 @@
+package com.swaglabs.framework;
+
+import com.swaglabs.utils.WaitEngine;
+
+import io.appium.java_client.AppiumBy;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * WaitEngineTest checks adaptive polling latency, deadline handling and the per-locator report.
+ */
+public class WaitEngineTest {
+
+    private static final By LOCATOR = AppiumBy.accessibilityId("test-LOGIN");
+
+    private final WaitEngine engine = new WaitEngine(Duration.ofMillis(20), Duration.ofMillis(500), 1.5, Duration.ofSeconds(10));
+
+    @Test(description = "An element that appears after 120 ms is seen well before the next 500 ms tick")
+    @SuppressWarnings("unchecked")
+    public void testAdaptivePollingBeatsFixedInterval() {
+        engine.startTest();
+        long start = System.nanoTime();
+        long readyAt = start + Duration.ofMillis(120).toNanos();
+
+        String value = engine.until(null, LOCATOR, Duration.ofSeconds(5), driver -> {
+            if (System.nanoTime() < readyAt) {
+                throw new NoSuchElementException("not yet");
+            }
+            return "found";
+        });
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Assert.assertEquals(value, "found");
+        Assert.assertTrue(elapsedMs < 300, "Adaptive polling should see the element soon after 120 ms, took " + elapsedMs);
+
+        Map<String, Object> summary = new Json().toType(engine.testSummaryJson(), Map.class);
+        Map<String, Object> locators = (Map<String, Object>) summary.get("locators");
+        Map<String, Object> stats = (Map<String, Object>) locators.get(LOCATOR.toString());
+        Assert.assertEquals(stats.get("count"), 1L);
+        Assert.assertTrue(((Number) stats.get("savedMs")).doubleValue() > 150,
+                "A fixed 500 ms poll would have added time: " + stats);
+    }
+
+    @Test(description = "A condition that never holds times out at the deadline")
+    public void testTimeoutHonoursDeadline() {
+        engine.startTest();
+        long start = System.nanoTime();
+        try {
+            engine.until(null, LOCATOR, Duration.ofSeconds(1), driver -> Boolean.FALSE);
+            Assert.fail("Wait should have timed out");
+        } catch (TimeoutException e) {
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Assert.assertTrue(elapsedMs >= 1_000 && elapsedMs < 1_300, "Timed out after " + elapsedMs + " ms");
+        }
+        Assert.assertTrue(engine.testSummaryJson().contains("\"timeouts\": 1"), engine.testSummaryJson());
+    }
+
+    @Test(description = "An absent element is not charged the implicit wait on every lookup")
+    @SuppressWarnings("unchecked")
+    public void testImplicitWaitSavingsReported() {
+        engine.startTest();
+        try {
+            engine.until(null, LOCATOR, Duration.ofSeconds(1), driver -> {
+                throw new NoSuchElementException("absent");
+            });
+            Assert.fail("Wait should have timed out");
+        } catch (TimeoutException expected) {
+            // An absent element with a 10 s implicit wait would have blocked ~10 s instead of 1 s
+        }
+
+        Map<String, Object> summary = new Json().toType(engine.testSummaryJson(), Map.class);
+        long savedMs = ((Number) summary.get("implicitWaitSavedMs")).longValue();
+        Assert.assertTrue(savedMs >= 8_500 && savedMs <= 9_000, "Expected ~9 s saved, was " + savedMs);
+    }
+
+    @Test(description = "Each thread gets its own reusable engine")
+    public void testEnginePerThread() throws InterruptedException {
+        WaitEngine mine = WaitEngine.current();
+        WaitEngine[] other = new WaitEngine[1];
+        Thread thread = new Thread(() -> other[0] = WaitEngine.current());
+        thread.start();
+        thread.join();
+
+        Assert.assertSame(WaitEngine.current(), mine);
+        Assert.assertNotSame(other[0], mine);
+    }
+}
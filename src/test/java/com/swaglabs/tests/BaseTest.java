@@ -2,6 +2,9 @@ package com.swaglabs.tests;
 
 import com.swaglabs.config.ConfigReader;
 import com.swaglabs.driver.DriverManager;
+import com.swaglabs.listeners.Precondition;
+import com.swaglabs.listeners.PreconditionInterceptor;
+import com.swaglabs.listeners.TestListener;
 import com.swaglabs.pages.*;
 import com.swaglabs.utils.OrientationHelper;
 
@@ -9,19 +12,24 @@ import io.qameta.allure.Allure;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
 import org.testng.annotations.*;
 
+import java.lang.reflect.Method;
+
 /**
  * BaseTest provides common setup and teardown logic for all test classes.
  *
  * Lifecycle:
  *   @BeforeClass  — create driver once per test class
- *   @BeforeMethod — reset app to login screen (fast, no session restart)
- *   @AfterClass   — quit driver once per test class
+ *   @BeforeMethod — establish the method's @Precondition, or the class's start screen
+ *                   (fast, no session restart; reuses the state the previous test left intact)
+ *   @AfterMethod  — keep or forget that state for the next test
+ *   @AfterClass   — release driver once per test class (back to the session pool, or quit)
  *
  * TestNG parameter "orientation" (PORTRAIT/LANDSCAPE) controls the device orientation.
  */
-@Listeners(com.swaglabs.listeners.TestListener.class)
+@Listeners({TestListener.class, PreconditionInterceptor.class})
 public abstract class BaseTest {
 
     protected static final Logger LOG = LoggerFactory.getLogger(BaseTest.class);
@@ -39,7 +47,10 @@ public abstract class BaseTest {
     protected static final String STANDARD_USER = "standard_user";
     protected static final String PASSWORD = "secret_sauce";
 
-    private static final String APP_PACKAGE = "com.swaglabsmobileapp";
+    private static final boolean NAVIGATION_ENABLED = ConfigReader.getBoolean("navigation.enabled", true);
+
+    private AppReset appReset;
+    private String orientation;
 
     /**
      * Creates the Appium driver once per test class and sets orientation.
@@ -48,27 +59,74 @@ public abstract class BaseTest {
     @BeforeClass(alwaysRun = true)
     public void setUpDriver(@Optional("PORTRAIT") String orientation) {
         LOG.info("Initializing driver — orientation: {}", orientation);
+        this.orientation = orientation;
         DriverManager.initDriver();
         OrientationHelper.setOrientation(orientation);
         initializePageObjects();
+        StateCache.forget();
         Allure.parameter("Orientation", orientation);
         Allure.parameter("Platform", "Android");
     }
 
     /**
-     * Resets the app to the login screen before each test method.
-     * Much faster than creating a new driver session.
-     * Subclasses can override to also perform login after reset.
+     * Brings the app to the method's {@link Precondition} — or, without one, to
+     * {@link #startScreen()} as clean as {@link #cleanliness()} requires — before each test method.
+     * A cart the previous test left intact is reused or topped up; otherwise the cheapest reset
+     * tier that provides the cleanliness is used, escalating to a restart, a data wipe or a
+     * reinstall only when a cheaper tier leaves the wrong state. A session the RetryAnalyzer
+     * blamed for the previous attempt is replaced first, and a retried checkpointed flow is
+     * brought to its last {@link StepCheckpoints} state instead of the start screen.
      */
     @BeforeMethod(alwaysRun = true)
-    public void resetApp() {
-        LOG.info("Resetting app to start screen");
-        DriverManager.getDriver().terminateApp(APP_PACKAGE);
-        DriverManager.getDriver().activateApp(APP_PACKAGE);
+    public void resetApp(Method method, ITestResult result) {
+        if (DriverManager.renewSessionIfRequested()) {
+            OrientationHelper.setOrientation(orientation);
+            StateCache.forget();
+        }
+        if (StepCheckpoints.begin(result, appReset)) {
+            return;
+        }
+        Precondition precondition = method.getAnnotation(Precondition.class);
+        Screen target = precondition == null ? startScreen() : precondition.screen();
+        int cartItems = precondition == null ? 0 : precondition.cartItems();
+        AppReset.Cleanliness required = precondition == null ? cleanliness() : precondition.cleanliness();
+        if (!NAVIGATION_ENABLED && required.compareTo(AppReset.Cleanliness.PROCESS) < 0) {
+            required = AppReset.Cleanliness.PROCESS;
+        }
+        LOG.info("Resetting app to start screen {} ({}, {} cart item(s))", target, required, cartItems);
+        appReset.prepare(target, cartItems, required);
+    }
+
+    /**
+     * Keeps the cached app state only after a passing test declared as leaving the cart intact.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void updateStateCache(ITestResult result) {
+        Precondition precondition = result.getMethod().getConstructorOrMethod().getMethod()
+                .getAnnotation(Precondition.class);
+        if (!result.isSuccess() || precondition == null || precondition.mutates()) {
+            StateCache.forget();
+        }
+    }
+
+    /**
+     * The screen each test method starts on. Defaults to the login screen.
+     */
+    protected Screen startScreen() {
+        return Screen.LOGIN;
+    }
+
+    /**
+     * How clean the app must be at the start screen. Defaults to {@code APP_STATE}: the menu's
+     * "Reset App State" has cleared the cart and sort order.
+     */
+    protected AppReset.Cleanliness cleanliness() {
+        return AppReset.Cleanliness.APP_STATE;
     }
 
     /**
-     * Quits the driver once after all tests in the class have run.
+     * Releases the driver once after all tests in the class have run.
+     * Pooled sessions stay alive until the suite finishes.
      */
     @AfterClass(alwaysRun = true)
     public void tearDown() {
@@ -87,6 +145,7 @@ public abstract class BaseTest {
         checkoutOverviewPage = new CheckoutOverviewPage();
         checkoutCompletePage = new CheckoutCompletePage();
         menuPage = new MenuPage();
+        appReset = new AppReset(new Navigator(NavigationGraph.standard(STANDARD_USER, PASSWORD)));
     }
 
     /**
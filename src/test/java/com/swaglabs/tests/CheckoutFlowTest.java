@@ -1,11 +1,12 @@
 package com.swaglabs.tests;
 
+import com.swaglabs.listeners.Precondition;
 import com.swaglabs.listeners.RetryAnalyzer;
+import com.swaglabs.pages.Screen;
 
 import io.qameta.allure.*;
 
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
@@ -27,21 +28,11 @@ public class CheckoutFlowTest extends BaseTest {
     private static final String ZIP_CODE = "10001";
 
     @Override
-    @BeforeMethod(alwaysRun = true)
-    public void resetApp() {
-        super.resetApp();
-        loginAsStandardUser();
-    }
-
-    /**
-     * Helper: Adds products and navigates to checkout info page.
-     */
-    private void navigateToCheckoutInfo(int productCount) {
-        productsPage.addMultipleProductsToCart(productCount);
-        productsPage.tapCartIcon();
-        cartPage.tapCheckout();
+    protected Screen startScreen() {
+        return Screen.PRODUCTS;
     }
 
+    @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 1, mutates = false)
     @Test(description = "TC_CHECKOUT_001 — Fill checkout info and proceed to overview",
             retryAnalyzer = RetryAnalyzer.class)
     @Severity(SeverityLevel.CRITICAL)
@@ -50,8 +41,6 @@ public class CheckoutFlowTest extends BaseTest {
     public void testFillCheckoutInfoAndProceed() {
         LOG.info("Filling checkout info and proceeding to overview");
 
-        navigateToCheckoutInfo(1);
-
         Assert.assertTrue(checkoutInfoPage.isPageLoaded(),
                 "Checkout info page should be displayed");
 
@@ -62,6 +51,7 @@ public class CheckoutFlowTest extends BaseTest {
                 "Checkout overview page should be displayed after filling info");
     }
 
+    @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 2, mutates = false)
     @Test(description = "TC_CHECKOUT_002 — Verify checkout overview displays order details",
             retryAnalyzer = RetryAnalyzer.class)
     @Severity(SeverityLevel.CRITICAL)
@@ -70,7 +60,6 @@ public class CheckoutFlowTest extends BaseTest {
     public void testCheckoutOverviewDisplaysOrderDetails() {
         LOG.info("Verifying checkout overview order details");
 
-        navigateToCheckoutInfo(2);
         checkoutInfoPage.fillCheckoutInfo(FIRST_NAME, LAST_NAME, ZIP_CODE);
         checkoutInfoPage.tapContinue();
 
@@ -127,6 +116,7 @@ public class CheckoutFlowTest extends BaseTest {
         LOG.info("Order completion validated successfully");
     }
 
+    @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 1)
     @Test(description = "TC_CHECKOUT_004 — Navigate back to home after order completion",
             retryAnalyzer = RetryAnalyzer.class, priority = 2)
     @Severity(SeverityLevel.CRITICAL)
@@ -136,7 +126,6 @@ public class CheckoutFlowTest extends BaseTest {
         LOG.info("Completing checkout and navigating back to home");
 
         // Complete the full checkout flow
-        navigateToCheckoutInfo(1);
         checkoutInfoPage.fillCheckoutInfo(FIRST_NAME, LAST_NAME, ZIP_CODE);
         checkoutInfoPage.tapContinue();
         checkoutOverviewPage.tapFinish();
@@ -152,6 +141,7 @@ public class CheckoutFlowTest extends BaseTest {
         LOG.info("Successfully navigated back to Products page");
     }
 
+    @Precondition(screen = Screen.CHECKOUT_INFO, cartItems = 1, mutates = false)
     @Test(description = "TC_CHECKOUT_005 — Checkout with empty info shows error",
             retryAnalyzer = RetryAnalyzer.class)
     @Severity(SeverityLevel.NORMAL)
@@ -160,7 +150,6 @@ public class CheckoutFlowTest extends BaseTest {
     public void testCheckoutWithEmptyInfoShowsError() {
         LOG.info("Testing checkout with empty info");
 
-        navigateToCheckoutInfo(1);
         checkoutInfoPage.tapContinue();
 
         Assert.assertTrue(checkoutInfoPage.isErrorDisplayed(),
@@ -1,6 +1,7 @@
 package com.swaglabs.tests;
 
 import com.swaglabs.listeners.RetryAnalyzer;
+import com.swaglabs.pages.AppReset;
 
 import io.qameta.allure.*;
 
@@ -20,6 +21,12 @@ import org.testng.annotations.Test;
 @Feature("Login")
 public class LoginTest extends BaseTest {
 
+    // Login checks don't depend on the cart, so skip the in-app reset
+    @Override
+    protected AppReset.Cleanliness cleanliness() {
+        return AppReset.Cleanliness.SCREEN;
+    }
+
     @Test(description = "TC_LOGIN_001 — Verify app launches and login page is displayed",
             retryAnalyzer = RetryAnalyzer.class)
     @Severity(SeverityLevel.BLOCKER)
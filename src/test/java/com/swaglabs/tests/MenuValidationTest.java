@@ -1,12 +1,13 @@
 package com.swaglabs.tests;
 
 import com.swaglabs.listeners.RetryAnalyzer;
+import com.swaglabs.pages.AppReset;
 import com.swaglabs.pages.MenuPage;
+import com.swaglabs.pages.Screen;
 
 import io.qameta.allure.*;
 
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
@@ -22,10 +23,14 @@ import org.testng.annotations.Test;
 public class MenuValidationTest extends BaseTest {
 
     @Override
-    @BeforeMethod(alwaysRun = true)
-    public void resetApp() {
-        super.resetApp();
-        loginAsStandardUser();
+    protected Screen startScreen() {
+        return Screen.PRODUCTS;
+    }
+
+    // Menu checks don't depend on the cart, so skip the in-app reset
+    @Override
+    protected AppReset.Cleanliness cleanliness() {
+        return AppReset.Cleanliness.SCREEN;
     }
 
     @Test(description = "TC_MENU_001 — Open menu and validate all options are displayed",
@@ -1,11 +1,12 @@
 package com.swaglabs.tests;
 
+import com.swaglabs.listeners.Precondition;
 import com.swaglabs.listeners.RetryAnalyzer;
+import com.swaglabs.pages.Screen;
 
 import io.qameta.allure.*;
 
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.List;
@@ -26,12 +27,11 @@ import java.util.List;
 public class ProductBrowseAndCartTest extends BaseTest {
 
     @Override
-    @BeforeMethod(alwaysRun = true)
-    public void resetApp() {
-        super.resetApp();
-        loginAsStandardUser();
+    protected Screen startScreen() {
+        return Screen.PRODUCTS;
     }
 
+    @Precondition(mutates = false)
     @Test(description = "TC_PRODUCT_001 — Verify products page displays products after login",
             retryAnalyzer = RetryAnalyzer.class)
     @Severity(SeverityLevel.CRITICAL)
@@ -49,6 +49,7 @@ public class ProductBrowseAndCartTest extends BaseTest {
                 "At least one product should be displayed on the products page");
     }
 
+    @Precondition(mutates = false)
     @Test(description = "TC_PRODUCT_002 — Browse and verify product titles are displayed",
             retryAnalyzer = RetryAnalyzer.class)
     @Severity(SeverityLevel.NORMAL)